@@ -0,0 +1,27 @@
+package com.cocus.doctorLablling.benchmark;
+
+import com.cocus.doctorLablling.DoctorLabllingApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.retry.annotation.EnableRetry;
+
+/**
+ * The application as {@link DoctorLabllingApplication} configures it, minus the test configurations that share its
+ * packages on the benchmark classpath.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@AutoConfigurationPackage(basePackageClasses = DoctorLabllingApplication.class)
+@EnableCaching
+@EnableRetry
+@ComponentScan(basePackageClasses = DoctorLabllingApplication.class, excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = DoctorLabllingApplication.class),
+        @ComponentScan.Filter(type = FilterType.REGEX,
+                pattern = "com\\.cocus\\.doctorLablling\\.(unitTest|integrationTest|benchmark)\\..*")
+})
+class BenchmarkApplication {
+}
@@ -0,0 +1,79 @@
+package com.cocus.doctorLablling.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Postgres the benchmarks run against: a Testcontainers instance, or an existing database when
+ * {@code BENCHMARK_DATASOURCE_URL} (with {@code BENCHMARK_DATASOURCE_USERNAME} and {@code BENCHMARK_DATASOURCE_PASSWORD})
+ * is set. Environment variables rather than system properties, so that they reach the JVMs forked by JMH.
+ */
+class BenchmarkDatabase implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> container;
+
+    private final String url;
+
+    private final String username;
+
+    private final String password;
+
+    private BenchmarkDatabase(PostgreSQLContainer<?> container, String url, String username, String password) {
+        this.container = container;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    static BenchmarkDatabase start() {
+        String url = System.getenv("BENCHMARK_DATASOURCE_URL");
+        if (url != null) {
+            return new BenchmarkDatabase(null, url, System.getenv("BENCHMARK_DATASOURCE_USERNAME"),
+                    System.getenv("BENCHMARK_DATASOURCE_PASSWORD"));
+        }
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:15-alpine");
+        container.start();
+        return new BenchmarkDatabase(container, container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    /**
+     * Command line arguments for an application context using this database, overriding
+     * {@code application.properties}, with logging turned down so that it does not weigh on the measurements.
+     */
+    String[] springArguments() {
+        return new String[]{
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--springdoc.api-docs.enabled=false"
+        };
+    }
+
+    /**
+     * Replaces the benchmark fixtures: {@code caseCount} cases {@code BENCH-C0000}, {@code BENCH-C0001}... each
+     * carrying all the {@code labelCount} labels {@code BENCH-L000}, {@code BENCH-L001}...
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int caseCount, int labelCount) {
+        jdbcTemplate.update("DELETE FROM medical_case_labels WHERE case_case_id LIKE 'BENCH-%'");
+        jdbcTemplate.update("DELETE FROM medical_case WHERE case_id LIKE 'BENCH-%'");
+        jdbcTemplate.update("DELETE FROM label WHERE code LIKE 'BENCH-%'");
+        jdbcTemplate.update("INSERT INTO label (code, description) "
+                + "SELECT 'BENCH-L' || lpad(g::text, 3, '0'), 'Benchmark label ' || g FROM generate_series(0, ?) g",
+                labelCount - 1);
+        jdbcTemplate.update("INSERT INTO medical_case (case_id, case_description, doctor_id, time_to_label) "
+                + "SELECT 'BENCH-C' || lpad(g::text, 4, '0'), 'Benchmark case ' || g, g % 10, now() "
+                + "FROM generate_series(0, ?) g", caseCount - 1);
+        jdbcTemplate.update("INSERT INTO medical_case_labels (case_case_id, labels_code) "
+                + "SELECT c.case_id, l.code FROM medical_case c CROSS JOIN label l "
+                + "WHERE c.case_id LIKE 'BENCH-C%' AND l.code LIKE 'BENCH-L%'");
+    }
+
+    @Override
+    public void close() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.cocus.doctorLablling.benchmark;
+
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trip of a {@link Case} with {@code labelCount} labels, with the same mapper settings as the
+ * application's message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaseSerializationBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    public int labelCount;
+
+    private ObjectMapper objectMapper;
+
+    private Case caseObj;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        caseObj = new Case("BENCH-C0001", "Benchmark case description", 12345L, new ArrayList<>(), LocalDateTime.now());
+        for (int i = 0; i < labelCount; i++) {
+            caseObj.getLabels().add(new Label(String.format("BENCH-L%04d", i), "Benchmark label " + i));
+        }
+        json = objectMapper.writeValueAsBytes(caseObj);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(caseObj);
+    }
+
+    @Benchmark
+    public Case deserialize() throws IOException {
+        return objectMapper.readValue(json, Case.class);
+    }
+}
@@ -0,0 +1,112 @@
+package com.cocus.doctorLablling.benchmark;
+
+import com.cocus.doctorLablling.config.CacheNames;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.service.CaseService;
+import com.cocus.doctorLablling.service.LabelCatalogue;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CaseService} read and write paths against Postgres, through the application caches.
+ * <p>
+ * Fixtures: {@value #CASE_COUNT} cases each carrying {@code labelCount} labels, all sharing the label
+ * {@value #SHARED_LABEL}. Cache misses are measured by evicting the entry right before the call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaseServiceBenchmark {
+
+    private static final int CASE_COUNT = 100;
+
+    private static final String CASE_ID = "BENCH-C0042";
+
+    private static final String SHARED_LABEL = "BENCH-L000";
+
+    private static final Label EXTRA_LABEL = new Label("BENCH-EXTRA", "Benchmark extra label");
+
+    @Param({"1", "50"})
+    public int labelCount;
+
+    private BenchmarkDatabase database;
+
+    private ConfigurableApplicationContext context;
+
+    private CaseService caseService;
+
+    private Cache caseCache;
+
+    private Cache casesByLabelCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(database.springArguments());
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkDatabase.seed(jdbcTemplate, CASE_COUNT, labelCount);
+        jdbcTemplate.update("INSERT INTO label (code, description) VALUES (?, ?)",
+                EXTRA_LABEL.getCode(), EXTRA_LABEL.getDescription());
+        context.getBean(LabelCatalogue.class).reload();
+
+        caseService = context.getBean(CaseService.class);
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        caseCache = cacheManager.getCache(CacheNames.CASE);
+        casesByLabelCache = cacheManager.getCache(CacheNames.CASES_BY_LABEL);
+        caseCache.clear();
+        casesByLabelCache.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        database.close();
+    }
+
+    @Benchmark
+    public Optional<Case> getCaseByIdCacheHit() {
+        return caseService.getCaseById(CASE_ID);
+    }
+
+    @Benchmark
+    public Optional<Case> getCaseByIdCacheMiss() {
+        caseCache.evict(CASE_ID);
+        return caseService.getCaseById(CASE_ID);
+    }
+
+    @Benchmark
+    public List<Case> getCasesByLabelCodeCacheHit() {
+        return caseService.getCasesByLabelCode(SHARED_LABEL);
+    }
+
+    @Benchmark
+    public List<Case> getCasesByLabelCodeCacheMiss() {
+        casesByLabelCache.evict(SHARED_LABEL);
+        return caseService.getCasesByLabelCode(SHARED_LABEL);
+    }
+
+    /**
+     * {@link CaseService#createNewLabelInCase} followed by the removal of the same label, so that every invocation
+     * starts from the same state.
+     */
+    @Benchmark
+    public boolean createNewLabelInCase() {
+        caseService.createNewLabelInCase(CASE_ID, EXTRA_LABEL, null);
+        return caseService.deleteLabelInCase(CASE_ID, EXTRA_LABEL.getCode(), null);
+    }
+}
@@ -0,0 +1,49 @@
+package com.cocus.doctorLablling.benchmark;
+
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.service.LabelSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type-ahead lookups on a catalogue the size of ICD-10-CM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LabelSearchBenchmark {
+
+    private static final int LABEL_COUNT = 70_000;
+
+    private static final String[] WORDS = {"acute", "chronic", "viral", "bacterial", "fever", "infection", "disorder", "syndrome"};
+
+    private static final String[] ORGANS = {"lung", "heart", "liver", "kidney", "skin"};
+
+    @Param({"a", "x00", "fev", "chronic liv"})
+    public String prefix;
+
+    private LabelSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Label> labels = new ArrayList<>(LABEL_COUNT);
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            labels.add(new Label(String.format("X%06d", i), WORDS[i % WORDS.length] + " "
+                    + Long.toHexString(random.nextLong()) + " of " + ORGANS[i % ORGANS.length]));
+        }
+        index = new LabelSearchIndex(labels);
+    }
+
+    @Benchmark
+    public List<Label> search() {
+        return index.search(prefix, 10);
+    }
+}
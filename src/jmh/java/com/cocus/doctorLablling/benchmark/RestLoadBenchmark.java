@@ -0,0 +1,127 @@
+package com.cocus.doctorLablling.benchmark;
+
+import com.cocus.doctorLablling.service.LabelCatalogue;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The REST layer under high concurrency, with requests served by the Tomcat platform-thread pool ({@code platform})
+ * or on virtual threads ({@code virtual}, the {@code virtual-threads} profile).
+ * <p>
+ * {@value #CLIENT_THREADS} clients fetch cached cases while as many page through the cases, which always goes to the
+ * database, so together they exceed the 200 Tomcat threads. Both modes use a pool of {@value #POOL_SIZE} connections.
+ * Requests that fail, such as those shed by the shorter connection timeout of the {@code virtual-threads} profile, are
+ * measured like the others and also counted as {@code failedRequests} (throughput mode only).
+ * Run with {@code -bm thrpt} or {@code -bm sample} to get only one of throughput and latency percentiles.
+ * <p>
+ * The clients share the machine with the application: on a machine with few cores they compete with the virtual
+ * thread carriers, one per core, and the results say more about the machine than about the threading mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RestLoadBenchmark {
+
+    private static final int CLIENT_THREADS = 128;
+
+    private static final int POOL_SIZE = 20;
+
+    private static final int CASE_COUNT = 1000;
+
+    private static final int LABELS_PER_CASE = 10;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String CACHED_CASE_ID = "BENCH-C0042";
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    private BenchmarkDatabase database;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Failures {
+
+        public long failedRequests;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        database = BenchmarkDatabase.start();
+        String[] arguments = Stream.concat(Stream.of(database.springArguments()), Stream.of(
+                "--server.port=0",
+                "--spring.profiles.active=" + ("virtual".equals(mode) ? "virtual-threads" : "default"),
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--spring.datasource.hikari.minimum-idle=" + POOL_SIZE
+        )).toArray(String[]::new);
+        context = new SpringApplicationBuilder(BenchmarkApplication.class).run(arguments);
+        BenchmarkDatabase.seed(context.getBean(JdbcTemplate.class), CASE_COUNT, LABELS_PER_CASE);
+        context.getBean(LabelCatalogue.class).reload();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        if (get("/cases/" + CACHED_CASE_ID) == null) {
+            throw new IllegalStateException("Case " + CACHED_CASE_ID + " could not be fetched");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        database.close();
+    }
+
+    @Benchmark
+    @Group("labellingPeak")
+    @GroupThreads(CLIENT_THREADS)
+    public String getCachedCase(Failures failures) throws IOException, InterruptedException {
+        return count(get("/cases/" + CACHED_CASE_ID), failures);
+    }
+
+    @Benchmark
+    @Group("labellingPeak")
+    @GroupThreads(CLIENT_THREADS)
+    public String getCasesPage(Failures failures) throws IOException, InterruptedException {
+        int after = ThreadLocalRandom.current().nextInt(CASE_COUNT - PAGE_SIZE);
+        return count(get(String.format("/cases?size=%d&after=BENCH-C%04d", PAGE_SIZE, after)), failures);
+    }
+
+    private static String count(String body, Failures failures) {
+        if (body == null) {
+            failures.failedRequests++;
+        }
+        return body;
+    }
+
+    /**
+     * @return the response body, or {@code null} when the response is not a 200
+     */
+    private String get(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() == 200 ? response.body() : null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.cocus.doctorLablling.benchmark;
+
+import com.cocus.doctorLablling.config.CacheConfig;
+import com.cocus.doctorLablling.config.CacheNames;
+import com.cocus.doctorLablling.config.TieredCacheProperties;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads from the case cache tiers: a hit on the heap tier, a hit on the off-heap tier (deserialized on every read)
+ * and a miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TieredCacheBenchmark {
+
+    private static final int OFF_HEAP_CASES = 1_000;
+
+    @Param({"10", "100"})
+    public int labelCount;
+
+    private CacheManager heapCacheManager;
+
+    private CacheManager offHeapCacheManager;
+
+    private Cache<Object, Object> heapCache;
+
+    private Cache<Object, Object> offHeapCache;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        heapCacheManager = new CacheConfig().jCacheCacheManager(properties(OFF_HEAP_CASES + 1));
+        // One heap entry: reads going round the cases keep missing the heap tier.
+        offHeapCacheManager = new CacheConfig().jCacheCacheManager(properties(1));
+        heapCache = heapCacheManager.getCache(CacheNames.CASE);
+        offHeapCache = offHeapCacheManager.getCache(CacheNames.CASE);
+        for (int i = 0; i < OFF_HEAP_CASES; i++) {
+            Case caseObj = newCase(i);
+            heapCache.put(caseObj.getCaseId(), caseObj);
+            offHeapCache.put(caseObj.getCaseId(), caseObj);
+        }
+    }
+
+    private TieredCacheProperties properties(long heapEntries) {
+        TieredCacheProperties properties = new TieredCacheProperties();
+        properties.setCaseEntity(new TieredCacheProperties.Tiers(heapEntries, DataSize.ofMegabytes(64),
+                DataSize.ofBytes(0), Duration.ofHours(1)));
+        return properties;
+    }
+
+    private Case newCase(int index) {
+        Case caseObj = new Case("BENCH-C" + index, "Benchmark case " + index, 12345L, new ArrayList<>(), LocalDateTime.now());
+        for (int i = 0; i < labelCount; i++) {
+            caseObj.getLabels().add(new Label("BENCH-L" + i, "Benchmark label " + i));
+        }
+        return caseObj;
+    }
+
+    @TearDown
+    public void tearDown() {
+        heapCacheManager.close();
+        offHeapCacheManager.close();
+    }
+
+    private String nextKey() {
+        next = (next + 1) % OFF_HEAP_CASES;
+        return "BENCH-C" + next;
+    }
+
+    @Benchmark
+    public Object heapHit() {
+        return heapCache.get(nextKey());
+    }
+
+    @Benchmark
+    public Object offHeapHit() {
+        return offHeapCache.get(nextKey());
+    }
+
+    @Benchmark
+    public Object miss() {
+        return heapCache.get("BENCH-MISSING");
+    }
+}
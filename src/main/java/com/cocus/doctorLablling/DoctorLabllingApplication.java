@@ -3,9 +3,11 @@ package com.cocus.doctorLablling;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.retry.annotation.EnableRetry;
 
 @SpringBootApplication
 @EnableCaching
+@EnableRetry
 public class DoctorLabllingApplication {
 
 	public static void main(String[] args) {
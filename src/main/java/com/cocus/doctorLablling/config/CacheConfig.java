@@ -0,0 +1,79 @@
+package com.cocus.doctorLablling.config;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.spi.serialization.Serializer;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds the JCache {@link CacheManager} used by Spring's cache abstraction from {@link TieredCacheProperties},
+ * instead of a fixed {@code ehcache.xml}.
+ */
+@Configuration
+@EnableConfigurationProperties(TieredCacheProperties.class)
+public class CacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager jCacheCacheManager(TieredCacheProperties properties) {
+        ClassLoader classLoader = getClass().getClassLoader();
+        boolean diskEnabled = properties.getDisk().isEnabled();
+
+        Map<String, CacheConfiguration<?, ?>> caches = new LinkedHashMap<>();
+        caches.put(CacheNames.CASE, cacheConfiguration(properties.getCaseEntity(), diskEnabled, classLoader));
+        caches.put(CacheNames.CASES_BY_LABEL, cacheConfiguration(properties.getCasesByLabel(), diskEnabled, classLoader));
+
+        DefaultConfiguration configuration = diskEnabled
+                ? new DefaultConfiguration(caches, classLoader,
+                        new DefaultPersistenceConfiguration(new File(properties.getDisk().getDirectory())))
+                : new DefaultConfiguration(caches, classLoader);
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), configuration);
+        // Read by the cache metrics of Actuator: hits, misses, puts and evictions.
+        caches.keySet().forEach(name -> cacheManager.enableStatistics(name, true));
+        return cacheManager;
+    }
+
+    /**
+     * Cache puts and evictions made in a transaction only apply once it has committed, so that a read racing with
+     * the write cannot cache the state the write replaces after it has been evicted.
+     */
+    @Bean
+    public CacheManagerCustomizer<JCacheCacheManager> transactionAwareCacheManager() {
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CacheConfiguration<Object, Object> cacheConfiguration(TieredCacheProperties.Tiers tiers, boolean diskEnabled,
+                                                                         ClassLoader classLoader) {
+        ResourcePoolsBuilder pools = ResourcePoolsBuilder.heap(tiers.getHeapEntries())
+                .offheap(tiers.getOffHeap().toMegabytes(), MemoryUnit.MB);
+        if (diskEnabled && tiers.getDisk().toBytes() > 0) {
+            pools = pools.disk(tiers.getDisk().toMegabytes(), MemoryUnit.MB, true);
+        }
+        // Entries leaving the heap tier are stored serialized, cached keys and values must be Serializable.
+        Serializer<Object> serializer = (Serializer<Object>) (Serializer<?>) new PlainJavaSerializer<>(classLoader);
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, pools)
+                .withKeySerializer(serializer)
+                .withValueSerializer(serializer)
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(tiers.getTimeToLive()))
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.cocus.doctorLablling.config;
+
+/**
+ * Names of the application caches. Entity caches are keyed by id and updated on writes; query caches
+ * hold result lists and are invalidated whenever an entity they may contain changes.
+ */
+public final class CacheNames {
+    /** Single {@code Case} by case id. */
+    public static final String CASE = "case";
+
+    /** {@code Case} lists returned by label code lookups. */
+    public static final String CASES_BY_LABEL = "casesByLabel";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,32 @@
+package com.cocus.doctorLablling.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.List;
+
+/**
+ * Writes {@link WireFormats#LABEL_CODES_JSON}. It is never picked for a wildcard {@code Accept}, only for an explicit
+ * {@link WireFormats#LABEL_CODES_JSON}, and it reads nothing: request bodies of that type are read as any JSON.
+ */
+public class LabelCodesHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public LabelCodesHttpMessageConverter(ObjectMapper labelCodesObjectMapper) {
+        super(labelCodesObjectMapper);
+        setSupportedMediaTypes(List.of(WireFormats.LABEL_CODES_JSON));
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * The producible media types of a response are those of the converters that can write it without a media type.
+     */
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return mediaType != null && super.canWrite(mediaType);
+    }
+}
@@ -0,0 +1,42 @@
+package com.cocus.doctorLablling.config;
+
+import com.cocus.doctorLablling.service.LabelCatalogue;
+import com.cocus.doctorLablling.service.LabellingMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters on top of those of Spring Boot (HTTP requests, Hikari pool, caches), see {@link LabellingMetrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Every doctor gets its own time-to-label histogram: past the limit, the meters of new doctors are dropped instead
+     * of growing the registry without bound.
+     */
+    @Bean
+    public MeterFilter timeToLabelDoctorLimit(@Value("${metrics.labelling.max-doctors:1000}") int maxDoctors) {
+        return MeterFilter.maximumAllowableTags(LabellingMetrics.TIME_TO_LABEL, "doctor", maxDoctors, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter labelsAppliedLabelLimit(@Value("${metrics.labelling.max-labels:500}") int maxLabels) {
+        return MeterFilter.maximumAllowableTags(LabellingMetrics.LABELS_APPLIED, "label", maxLabels, MeterFilter.deny());
+    }
+
+    /**
+     * Labels are served from the {@link LabelCatalogue} rather than a cache, so there are no hits nor misses to count.
+     */
+    @Bean
+    public MeterBinder labelCatalogueMetrics(LabelCatalogue labelCatalogue) {
+        return registry -> Gauge.builder("labels.catalogue.size", labelCatalogue,
+                        catalogue -> catalogue.getSnapshot().labelsByCode().size())
+                .description("Labels in the in-memory catalogue")
+                .register(registry);
+    }
+}
@@ -0,0 +1,57 @@
+package com.cocus.doctorLablling.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the Ehcache tiers behind each application cache, bound from {@code app.cache.*}.
+ * <p>
+ * Each cache gets a heap tier for the hottest entries, an off-heap tier holding serialized entries outside
+ * the garbage collected heap, and optionally a disk tier when {@code app.cache.disk.enabled} is set.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class TieredCacheProperties {
+
+    private Disk disk = new Disk();
+
+    /** {@link CacheNames#CASE} */
+    private Tiers caseEntity = new Tiers(50_000, DataSize.ofMegabytes(512), DataSize.ofGigabytes(2), Duration.ofMinutes(10));
+
+    /** {@link CacheNames#CASES_BY_LABEL} */
+    private Tiers casesByLabel = new Tiers(1_000, DataSize.ofMegabytes(256), DataSize.ofBytes(0), Duration.ofSeconds(60));
+
+    @Data
+    public static class Disk {
+        private boolean enabled = false;
+
+        private String directory = System.getProperty("java.io.tmpdir") + "/doctor-labelling-cache";
+    }
+
+    @Data
+    public static class Tiers {
+        /** Number of deserialized entries kept on heap. */
+        private long heapEntries;
+
+        /** Off-heap tier size, must be smaller than the disk tier when both are set. */
+        private DataSize offHeap;
+
+        /** Disk tier size, 0 for no disk tier. Only used when the disk tier is enabled. */
+        private DataSize disk;
+
+        private Duration timeToLive;
+
+        public Tiers() {
+        }
+
+        public Tiers(long heapEntries, DataSize offHeap, DataSize disk, Duration timeToLive) {
+            this.heapEntries = heapEntries;
+            this.offHeap = offHeap;
+            this.disk = disk;
+            this.timeToLive = timeToLive;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.cocus.doctorLablling.config;
+
+import com.cocus.doctorLablling.tracing.RequestTraceFilter;
+import com.cocus.doctorLablling.tracing.TracingCacheResolver;
+import com.cocus.doctorLablling.tracing.TracingJackson2HttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Per-request tracing of the servlet stack, see {@link RequestTraceFilter}. The SQL statements are timed by
+ * {@link com.cocus.doctorLablling.tracing.SqlTraceListener}, registered with the Hibernate properties, and the
+ * {@code Server-Timing} header is added by {@link com.cocus.doctorLablling.tracing.ServerTimingAdvice}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig implements CachingConfigurer {
+
+    @Autowired
+    private ObjectProvider<CacheManager> cacheManager;
+
+    @Override
+    public CacheResolver cacheResolver() {
+        return new TracingCacheResolver(cacheManager.getObject());
+    }
+
+    @Bean
+    public RequestTraceFilter requestTraceFilter(@Value("${tracing.header:X-Request-Trace}") String header) {
+        return new RequestTraceFilter(header);
+    }
+
+    /**
+     * Replaces the JSON converter of Spring Boot.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TracingJackson2HttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,33 @@
+package com.cocus.doctorLablling.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * The message converters of the {@link WireFormats}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private WireFormats wireFormats;
+
+    /**
+     * Replaces the default Smile converter, and puts the label codes one first, so that it comes before the JSON
+     * converter, which writes any {@code application/*+json} too.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                ? new MappingJackson2SmileHttpMessageConverter(wireFormats.getSmileObjectMapper())
+                : converter);
+        converters.add(0, new LabelCodesHttpMessageConverter(wireFormats.getLabelCodesObjectMapper()));
+    }
+}
@@ -0,0 +1,106 @@
+package com.cocus.doctorLablling.config;
+
+import com.cocus.doctorLablling.model.Label;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The formats responses are written in besides JSON, for the clients that do not need it verbose:
+ * <ul>
+ *     <li>{@link #SMILE}, binary JSON with back-references to the short strings already written, so that each label
+ *     description is written once per response however many cases carry the label;</li>
+ *     <li>{@link #LABEL_CODES_JSON}, JSON in which every label is its code alone, for the clients that look the
+ *     descriptions up in the label catalogue themselves.</li>
+ * </ul>
+ * Both are configured as the JSON object mapper of Spring Boot otherwise. They are picked by the {@code Accept} header,
+ * by the message converters of {@link WireFormatConfig} and by {@link #negotiate} for the responses streamed by hand.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WireFormats {
+
+    public static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    public static final String LABEL_CODES_JSON_VALUE = "application/vnd.cocus.label-codes+json";
+
+    public static final MediaType LABEL_CODES_JSON = MediaType.valueOf(LABEL_CODES_JSON_VALUE);
+
+    private static final List<MediaType> MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON, LABEL_CODES_JSON, SMILE);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    private ObjectMapper smileObjectMapper;
+
+    private ObjectMapper labelCodesObjectMapper;
+
+    @PostConstruct
+    public void init() {
+        smileObjectMapper = smileObjectMapper(objectMapperBuilder);
+        labelCodesObjectMapper = objectMapper.copy().addMixIn(Label.class, LabelCodeMixin.class);
+    }
+
+    public static ObjectMapper smileObjectMapper(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return objectMapperBuilder
+                .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                .build();
+    }
+
+    public ObjectMapper getSmileObjectMapper() {
+        return smileObjectMapper;
+    }
+
+    public ObjectMapper getLabelCodesObjectMapper() {
+        return labelCodesObjectMapper;
+    }
+
+    /**
+     * @return the first format the {@code Accept} header allows, by quality then in the order of the header, or JSON
+     * if it allows none or is invalid, as before there was a choice
+     */
+    public MediaType negotiate(String accept) {
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        acceptedTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType acceptedType : acceptedTypes) {
+            for (MediaType mediaType : MEDIA_TYPES) {
+                if (acceptedType.getQualityValue() > 0 && acceptedType.includes(mediaType)) {
+                    return mediaType;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    public ObjectMapper objectMapper(MediaType mediaType) {
+        if (SMILE.equals(mediaType)) {
+            return smileObjectMapper;
+        }
+        return LABEL_CODES_JSON.equals(mediaType) ? labelCodesObjectMapper : objectMapper;
+    }
+
+    private abstract static class LabelCodeMixin {
+        @JsonValue
+        abstract String getCode();
+    }
+}
@@ -1,29 +1,72 @@
 package com.cocus.doctorLablling.controller;
 
+import com.cocus.doctorLablling.config.WireFormats;
+import com.cocus.doctorLablling.dto.CaseExportFilter;
+import com.cocus.doctorLablling.dto.CaseExportRow;
+import com.cocus.doctorLablling.dto.CaseImportResult;
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.CaseSummary;
+import com.cocus.doctorLablling.dto.CursorPage;
+import com.cocus.doctorLablling.dto.LabelAssignmentResult;
+import com.cocus.doctorLablling.exception.BadRequestException;
+import com.cocus.doctorLablling.exception.PreconditionFailedException;
 import com.cocus.doctorLablling.exception.ResourceNotFoundException;
 import com.cocus.doctorLablling.model.Case;
 import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.service.CaseExportService;
+import com.cocus.doctorLablling.service.CaseImportService;
 import com.cocus.doctorLablling.service.CaseService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/cases")
 public class CaseController {
     @Autowired
     private CaseService caseService;
 
+    @Autowired
+    private CaseImportService caseImportService;
+
+    @Autowired
+    private CaseExportService caseExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WireFormats wireFormats;
+
     @PostMapping
     @Operation(summary = "Create a new Case")
     @ApiResponse(responseCode = "201", description = "Doctor Label created", content = {
@@ -31,48 +74,168 @@ public class CaseController {
     })
     public ResponseEntity<Case> createCase(@RequestBody Case caseObj) {
         Case createdCase = caseService.createCase(caseObj);
-        return new ResponseEntity<>(createdCase, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(createdCase)).body(createdCase);
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Create many Cases", description = "Accepts a JSON array or newline-delimited JSON of cases and reports the outcome of each one")
+    @ApiResponse(responseCode = "200", description = "Import processed", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CaseImportResult.class)))
+    })
+    public ResponseEntity<List<CaseImportResult>> importCases(HttpServletRequest request) throws IOException {
+        // Read lazily: both a JSON array and a sequence of root-level values are iterated element by element.
+        try (MappingIterator<Case> cases = objectMapper.readerFor(Case.class).readValues(request.getInputStream())) {
+            return ResponseEntity.ok(caseImportService.importCases(cases));
+        }
+    }
+
+    @PostMapping("/labels:batch")
+    @Operation(summary = "Add labels to many cases", description = "Applies every (caseId, labelCode) pair in one transaction and reports which pairs were applied and which were rejected")
+    @ApiResponse(responseCode = "200", description = "Labels processed", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = LabelAssignmentResult.class)))
+    })
+    public ResponseEntity<List<LabelAssignmentResult>> assignLabels(@RequestBody List<CaseLabelPair> pairs) {
+        return ResponseEntity.ok(caseService.assignLabels(pairs));
     }
 
     @PostMapping("/{caseId}/labels")
-    @Operation(summary = "Create a new label in a case")
-    @ApiResponse(responseCode = "201", description = "Label created", content = {
-            @Content(mediaType = "application/json", schema = @Schema(implementation = Case.class))
+    @Operation(summary = "Create a new label in a case", description = "With If-Match, the label is only added if the case still has that ETag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Label created", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = Case.class))
+            }),
+            @ApiResponse(responseCode = "412", description = "Case modified since the If-Match ETag", content = @Content)
     })
-    public ResponseEntity<Case> createNewLabelInCase(@PathVariable String caseId, @RequestBody Label label) {
-        Case updatedCase = caseService.createNewLabelInCase(caseId, label)
+    public ResponseEntity<Case> createNewLabelInCase(@PathVariable String caseId, @RequestBody Label label,
+                                                     @Parameter(description = "ETag of the case the label is added to")
+                                                     @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Case updatedCase = caseService.createNewLabelInCase(caseId, label, expectedVersion(ifMatch))
                 .orElseThrow(() -> new ResourceNotFoundException("Case not found with ID: " + caseId));
 
-        return new ResponseEntity<>(updatedCase, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(eTag(updatedCase)).body(updatedCase);
     }
 
     @GetMapping
-    @Operation(summary = "Get all Cases")
+    @Operation(summary = "Get all Cases", description = "Streams every case as one array without loading the table in memory, "
+            + "in JSON, Smile or JSON with the label codes only depending on the Accept header")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found all Doctor Labels", content = {
-                    @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Case.class))) }),
-            @ApiResponse(responseCode = "404", description = "Doctor Labels not found", content = @Content)
+                    @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Case.class))),
+                    @Content(mediaType = "application/x-jackson-smile", array = @ArraySchema(schema = @Schema(implementation = Case.class))),
+                    @Content(mediaType = WireFormats.LABEL_CODES_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Case.class))) })
     })
-    public ResponseEntity<List<Case>> getAllCases() {
-        List<Case> cases = caseService.getAllCases();
-        return new ResponseEntity<>(cases, HttpStatus.OK);
+    public void getAllCases(@RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                            HttpServletResponse response) throws IOException {
+        MediaType mediaType = wireFormats.negotiate(accept);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(mediaType.toString());
+        if (!WireFormats.SMILE.equals(mediaType)) {
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+
+        ObjectMapper caseObjectMapper = wireFormats.objectMapper(mediaType);
+        ObjectWriter writer = caseObjectMapper.writerFor(Case.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = caseObjectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            caseService.streamAllCases(caseObj -> {
+                try {
+                    writer.writeValue(generator, caseObj);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        }
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export Cases", description = "Streams the cases matching the filters with their label codes, "
+            + "ordered by ID, as newline-delimited JSON or CSV, gzipped on demand. Cached cases are left untouched")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cases exported", content = {
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = CaseExportRow.class)),
+                    @Content(mediaType = "text/csv")
+            }),
+            @ApiResponse(responseCode = "400", description = "Unknown format", content = @Content)
+    })
+    public void exportCases(@Parameter(description = "ndjson or csv") @RequestParam(name = "format", defaultValue = "ndjson") String format,
+                            @RequestParam(name = "doctorId", required = false) Long doctorId,
+                            @Parameter(description = "Cases last labelled at or after this time")
+                            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                            @Parameter(description = "Cases last labelled before this time")
+                            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                            @RequestParam(name = "label", required = false) String labelCode,
+                            @RequestParam(name = "gzip", defaultValue = "false") boolean gzip,
+                            HttpServletResponse response) throws IOException {
+        CaseExportService.Format exportFormat = exportFormat(format);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(exportFormat == CaseExportService.Format.CSV ? "text/csv;charset=UTF-8" : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        CaseExportFilter filter = new CaseExportFilter(doctorId, from, to, labelCode);
+        OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024) : response.getOutputStream();
+        try (out) {
+            caseExportService.exportCases(filter, exportFormat, out);
+        }
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search the Case descriptions", description = "Full-text search, best matches first, "
+            + "optionally narrowed down to a doctor and a label. 'q' takes words, quoted phrases, 'or' and '-' to exclude "
+            + "a word. Keyset pagination: pass the returned nextCursor as 'after' to get the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the page of matching Cases", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Empty query or invalid cursor", content = @Content)
+    })
+    public ResponseEntity<CursorPage<Case>> searchCases(@RequestParam("q") String query,
+                                                        @RequestParam(name = "doctorId", required = false) Long doctorId,
+                                                        @RequestParam(name = "label", required = false) String labelCode,
+                                                        @RequestParam(name = "after", required = false) String after,
+                                                        @RequestParam(name = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(caseService.searchCases(query, doctorId, labelCode, after, size));
+    }
+
+    @GetMapping(params = "size")
+    @Operation(summary = "Get a page of Cases", description = "Keyset pagination on the case ID: pass the returned nextCursor as 'after' to get the next page")
+    @ApiResponse(responseCode = "200", description = "Found the page of Doctor Labels", content = {
+            @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))
+    })
+    public ResponseEntity<CursorPage<Case>> getCasesPage(@RequestParam(name = "after", required = false) String after,
+                                                         @RequestParam("size") int size) {
+        return ResponseEntity.ok(caseService.getCasesPage(after, size));
+    }
+
+    @GetMapping(params = {"size", "includeLabels=false", "!label"})
+    @Operation(summary = "Get a page of Case headers", description = "Same keyset pagination as the Case page, without loading any label")
+    @ApiResponse(responseCode = "200", description = "Found the page of Doctor Label headers", content = {
+            @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))
+    })
+    public ResponseEntity<CursorPage<CaseSummary>> getCaseSummariesPage(@RequestParam(name = "after", required = false) String after,
+                                                                        @RequestParam("size") int size) {
+        return ResponseEntity.ok(caseService.getCaseSummariesPage(after, size));
     }
 
     @GetMapping("/{caseId}")
-    @Operation(summary = "Get a Case by ID")
+    @Operation(summary = "Get a Case by ID", description = "With If-None-Match, nothing is sent if the case still has that "
+            + "ETag, which cached cases are checked against without a database query")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found the Doctor Label", content = {
                     @Content(mediaType = "application/json", schema = @Schema(implementation = Case.class))
             }),
+            @ApiResponse(responseCode = "304", description = "Case unchanged since the If-None-Match ETag", content = @Content),
             @ApiResponse(responseCode = "404", description = "Doctor Label not found", content = @Content)
     })
     public ResponseEntity<Case> getCaseById(@PathVariable String caseId) {
         return caseService.getCaseById(caseId)
-                .map(ResponseEntity::ok)
+                .map(caseObj -> ResponseEntity.ok().eTag(eTag(caseObj)).body(caseObj))
                 .orElseThrow(() -> new ResourceNotFoundException("Case not found with ID: " + caseId));
     }
 
-    @GetMapping(params = "/label")
+    @GetMapping(params = "label")
     @Operation(summary = "Get cases by label")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Doctor Label deleted"),
@@ -87,14 +250,28 @@ public class CaseController {
         }
     }
 
+    @GetMapping(params = {"label", "size"})
+    @Operation(summary = "Get a page of cases by label", description = "Keyset pagination on the case ID over the label index")
+    @ApiResponse(responseCode = "200", description = "Found the page of Doctor Labels", content = {
+            @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))
+    })
+    public ResponseEntity<CursorPage<Case>> getCasesPageByLabel(@RequestParam("label") String labelCode,
+                                                                @RequestParam(name = "after", required = false) String after,
+                                                                @RequestParam("size") int size) {
+        return ResponseEntity.ok(caseService.getCasesPageByLabelCode(labelCode, after, size));
+    }
+
     @DeleteMapping("/{caseId}/labels/{labelCode}")
-    @Operation(summary = "Delete a label in a case")
+    @Operation(summary = "Delete a label in a case", description = "With If-Match, the label is only deleted if the case still has that ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Label deleted"),
-            @ApiResponse(responseCode = "404", description = "Label not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Label not found", content = @Content),
+            @ApiResponse(responseCode = "412", description = "Case modified since the If-Match ETag", content = @Content)
     })
-    public ResponseEntity<Void> deleteLabelInCase(@PathVariable String caseId, @PathVariable String labelCode) {
-        boolean deleted = caseService.deleteLabelInCase(caseId, labelCode);
+    public ResponseEntity<Void> deleteLabelInCase(@PathVariable String caseId, @PathVariable String labelCode,
+                                                  @Parameter(description = "ETag of the case the label is deleted from")
+                                                  @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean deleted = caseService.deleteLabelInCase(caseId, labelCode, expectedVersion(ifMatch));
         if (deleted) {
             return ResponseEntity.noContent().build();
         } else {
@@ -104,16 +281,51 @@ public class CaseController {
 
 
     @PutMapping("/{caseId}")
-    @Operation(summary = "Update an existing case by ID")
+    @Operation(summary = "Update an existing case by ID", description = "With If-Match, the case is only updated if it still has that ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Doctor Label updated", content = {
                     @Content(mediaType = "application/json", schema = @Schema(implementation = Case.class))
             }),
-            @ApiResponse(responseCode = "404", description = "Doctor Label not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Doctor Label not found", content = @Content),
+            @ApiResponse(responseCode = "412", description = "Case modified since the If-Match ETag", content = @Content)
     })
-    public ResponseEntity<Case> updateCase(@PathVariable String caseId, @RequestBody Case caseObj) {
-        return caseService.updateCase(caseId, caseObj)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<Case> updateCase(@PathVariable String caseId, @RequestBody Case caseObj,
+                                           @Parameter(description = "ETag of the case being updated")
+                                           @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return caseService.updateCase(caseId, caseObj, expectedVersion(ifMatch))
+                .map(updatedCase -> ResponseEntity.ok().eTag(eTag(updatedCase)).body(updatedCase))
                 .orElseThrow(() -> new ResourceNotFoundException("Case not found with ID: " + caseId));
     }
+
+    private static String eTag(Case caseObj) {
+        return "\"" + caseObj.getVersion() + "\"";
+    }
+
+    private static CaseExportService.Format exportFormat(String format) {
+        for (CaseExportService.Format exportFormat : CaseExportService.Format.values()) {
+            if (exportFormat.name().equalsIgnoreCase(format)) {
+                return exportFormat;
+            }
+        }
+        throw new BadRequestException("Unknown export format: " + format);
+    }
+
+    /**
+     * The version named by an If-Match header, {@code null} when the header is absent or {@code *}. Weak or
+     * foreign ETags never match: If-Match uses the strong comparison.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.length() > 2 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+            try {
+                return Long.parseLong(eTag.substring(1, eTag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Falls through: not an ETag of this API.
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current ETag: " + ifMatch);
+    }
 }
@@ -0,0 +1,38 @@
+package com.cocus.doctorLablling.controller;
+
+import com.cocus.doctorLablling.dto.ChangePage;
+import com.cocus.doctorLablling.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/changes")
+public class ChangeController {
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @GetMapping
+    @Operation(summary = "Get the changes to cases and their labels", description = "Lists the case and label writes "
+            + "committed after the 'since' cursor, oldest first: pass the returned nextCursor as 'since' to get the next ones")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the changes", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ChangePage.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content)
+    })
+    public ResponseEntity<ChangePage> getChanges(@RequestParam(name = "since", required = false) String since,
+                                                 @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+    }
+}
@@ -0,0 +1,62 @@
+package com.cocus.doctorLablling.controller;
+
+import com.cocus.doctorLablling.dto.CaseLease;
+import com.cocus.doctorLablling.dto.CursorPage;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.service.CaseQueueService;
+import com.cocus.doctorLablling.service.CaseService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/doctors")
+public class DoctorController {
+    @Autowired
+    private CaseQueueService caseQueueService;
+
+    @Autowired
+    private CaseService caseService;
+
+    @GetMapping("/{doctorId}/cases")
+    @Operation(summary = "Get a page of the Cases of a doctor", description = "Least recently labelled first, keyset "
+            + "pagination on the labelling time and case ID: pass the returned nextCursor as 'after' to get the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the page of Cases", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content)
+    })
+    public ResponseEntity<CursorPage<Case>> getCasesPage(@PathVariable("doctorId") Long doctorId,
+                                                         @RequestParam(name = "after", required = false) String after,
+                                                         @RequestParam(name = "size", defaultValue = "100") int size) {
+        return ResponseEntity.ok(caseService.getCasesPageByDoctorId(doctorId, after, size));
+    }
+
+    @PostMapping("/{doctorId}/next-case")
+    @Operation(summary = "Lease the next unlabelled case to a doctor", description = "Returns the case the doctor "
+            + "already holds, with its lease extended, or else the oldest unlabelled case no other doctor holds")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Case leased", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = CaseLease.class))
+            }),
+            @ApiResponse(responseCode = "204", description = "No unlabelled case left to lease", content = @Content)
+    })
+    public ResponseEntity<CaseLease> leaseNextCase(@PathVariable("doctorId") Long doctorId) {
+        return caseQueueService.leaseNextCase(doctorId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+}
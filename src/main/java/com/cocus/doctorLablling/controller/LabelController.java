@@ -1,5 +1,7 @@
 package com.cocus.doctorLablling.controller;
 
+import com.cocus.doctorLablling.dto.LabelCount;
+import com.cocus.doctorLablling.dto.LabelsJson;
 import com.cocus.doctorLablling.exception.ResourceNotFoundException;
 import com.cocus.doctorLablling.model.Label;
 import com.cocus.doctorLablling.service.LabelService;
@@ -11,13 +13,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/labels")
 public class LabelController {
     @Autowired
@@ -34,15 +40,58 @@ public class LabelController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all labels")
+    @Operation(summary = "Get all labels", description = "Gzipped if accepted. With If-None-Match, nothing is sent "
+            + "if the catalogue still has that ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found all labels", content = {
                     @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Label.class))) }),
+            @ApiResponse(responseCode = "304", description = "Catalogue unchanged since the If-None-Match ETag", content = @Content),
             @ApiResponse(responseCode = "404", description = "Labels not found", content = @Content)
     })
-    public ResponseEntity<List<Label>> getAllLabels() {
-        List<Label> labels = labelService.getAllLabels();
-        return new ResponseEntity<>(labels, HttpStatus.OK);
+    public ResponseEntity<byte[]> getAllLabels(@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        LabelsJson labelsJson = labelService.getAllLabelsAsJson();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (LabelsJson.acceptsGzip(acceptEncoding)) {
+            return response.eTag(labelsJson.gzippedETag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(labelsJson.gzipped());
+        }
+        return response.eTag(labelsJson.eTag()).body(labelsJson.json());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search labels by prefix", description = "Labels whose code starts with the prefix, then labels whose description has words starting with the words of the prefix, ignoring case")
+    @ApiResponse(responseCode = "200", description = "Matching labels", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Label.class)))
+    })
+    public ResponseEntity<List<Label>> searchLabels(@RequestParam("prefix") String prefix,
+                                                    @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(labelService.searchLabels(prefix, limit));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get the number of cases of each label")
+    @ApiResponse(responseCode = "200", description = "Found the label statistics", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = LabelCount.class)))
+    })
+    public ResponseEntity<List<LabelCount>> getLabelStats() {
+        return ResponseEntity.ok(labelService.getLabelStats());
+    }
+
+    @GetMapping("/{labelCode}/cooccurrence")
+    @Operation(summary = "Get the labels found on the same cases as a label", description = "Labels sharing cases with the label, with the number of cases shared, most shared first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the co-occurring labels", content = {
+                    @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = LabelCount.class)))
+            }),
+            @ApiResponse(responseCode = "404", description = "Label not found", content = @Content)
+    })
+    public ResponseEntity<List<LabelCount>> getCooccurrences(@PathVariable("labelCode") String labelCode) {
+        return labelService.getCooccurrences(labelCode)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Label not found with code: " + labelCode));
     }
 
     @GetMapping("/{labelCode}")
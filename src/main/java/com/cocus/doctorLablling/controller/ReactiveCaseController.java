@@ -0,0 +1,100 @@
+package com.cocus.doctorLablling.controller;
+
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.CaseSummary;
+import com.cocus.doctorLablling.dto.CursorPage;
+import com.cocus.doctorLablling.dto.LabelAssignmentResult;
+import com.cocus.doctorLablling.exception.ResourceNotFoundException;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.service.ReactiveCaseService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The endpoints of {@link CaseController} on the reactive stack. Listings are streamed as they are read, as a JSON
+ * array or, when asked for with {@code Accept: application/x-ndjson}, as one case per line.
+ */
+@RestController
+@RequestMapping("/cases")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCaseController {
+    @Autowired
+    private ReactiveCaseService reactiveCaseService;
+
+    @PostMapping
+    public Mono<ResponseEntity<Case>> createCase(@RequestBody Case caseObj) {
+        return reactiveCaseService.createCase(caseObj)
+                .map(createdCase -> new ResponseEntity<>(createdCase, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/labels:batch")
+    public Flux<LabelAssignmentResult> assignLabels(@RequestBody List<CaseLabelPair> pairs) {
+        return reactiveCaseService.assignLabels(pairs);
+    }
+
+    @PostMapping("/{caseId}/labels")
+    public Mono<Case> createNewLabelInCase(@PathVariable String caseId, @RequestBody Label label) {
+        return reactiveCaseService.createNewLabelInCase(caseId, label)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Case not found with ID: " + caseId)));
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Case> getAllCases() {
+        return reactiveCaseService.getAllCases();
+    }
+
+    @GetMapping(params = "size")
+    public Mono<CursorPage<Case>> getCasesPage(@RequestParam(name = "after", required = false) String after,
+                                               @RequestParam("size") int size) {
+        return reactiveCaseService.getCasesPage(after, size);
+    }
+
+    @GetMapping(params = {"size", "includeLabels=false", "!label"})
+    public Mono<CursorPage<CaseSummary>> getCaseSummariesPage(@RequestParam(name = "after", required = false) String after,
+                                                              @RequestParam("size") int size) {
+        return reactiveCaseService.getCaseSummariesPage(after, size);
+    }
+
+    @GetMapping("/{caseId}")
+    public Mono<ResponseEntity<Case>> getCaseById(@PathVariable String caseId) {
+        return reactiveCaseService.getCaseById(caseId)
+                .map(caseObj -> ResponseEntity.ok().eTag("\"" + caseObj.getVersion() + "\"").body(caseObj))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Case not found with ID: " + caseId)));
+    }
+
+    @GetMapping(params = "label", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Case> getCasesByLabel(@RequestParam("label") String labelCode) {
+        return reactiveCaseService.getCasesByLabelCode(labelCode)
+                .switchIfEmpty(Flux.error(() -> new ResourceNotFoundException("No cases found with label code: " + labelCode)));
+    }
+
+    @GetMapping(params = {"label", "size"})
+    public Mono<CursorPage<Case>> getCasesPageByLabel(@RequestParam("label") String labelCode,
+                                                      @RequestParam(name = "after", required = false) String after,
+                                                      @RequestParam("size") int size) {
+        return reactiveCaseService.getCasesPageByLabelCode(labelCode, after, size);
+    }
+
+    @DeleteMapping("/{caseId}/labels/{labelCode}")
+    public Mono<ResponseEntity<Void>> deleteLabelInCase(@PathVariable String caseId, @PathVariable String labelCode) {
+        return reactiveCaseService.deleteLabelInCase(caseId, labelCode)
+                .flatMap(deleted -> deleted
+                        ? Mono.just(ResponseEntity.noContent().<Void>build())
+                        : Mono.error(new ResourceNotFoundException("Case not found with ID: " + caseId)));
+    }
+
+    @PutMapping("/{caseId}")
+    public Mono<Case> updateCase(@PathVariable String caseId, @RequestBody Case caseObj) {
+        return reactiveCaseService.updateCase(caseId, caseObj)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Case not found with ID: " + caseId)));
+    }
+}
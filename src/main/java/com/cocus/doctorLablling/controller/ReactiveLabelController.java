@@ -0,0 +1,88 @@
+package com.cocus.doctorLablling.controller;
+
+import com.cocus.doctorLablling.dto.LabelCount;
+import com.cocus.doctorLablling.dto.LabelsJson;
+import com.cocus.doctorLablling.exception.ResourceNotFoundException;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.service.ReactiveLabelService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The endpoints of {@link LabelController} on the reactive stack.
+ */
+@RestController
+@RequestMapping("/labels")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLabelController {
+    @Autowired
+    private ReactiveLabelService reactiveLabelService;
+
+    @PostMapping
+    public Mono<ResponseEntity<Label>> createLabel(@RequestBody Label label) {
+        return reactiveLabelService.createLabel(label)
+                .map(createdLabel -> new ResponseEntity<>(createdLabel, HttpStatus.CREATED));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getAllLabels(@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return reactiveLabelService.getAllLabelsAsJson()
+                .map(labelsJson -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                            .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                            .contentType(MediaType.APPLICATION_JSON);
+                    if (LabelsJson.acceptsGzip(acceptEncoding)) {
+                        return response.eTag(labelsJson.gzippedETag())
+                                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                                .body(labelsJson.gzipped());
+                    }
+                    return response.eTag(labelsJson.eTag()).body(labelsJson.json());
+                });
+    }
+
+    @GetMapping("/search")
+    public Flux<Label> searchLabels(@RequestParam("prefix") String prefix,
+                                    @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return reactiveLabelService.searchLabels(prefix, limit);
+    }
+
+    @GetMapping("/stats")
+    public Flux<LabelCount> getLabelStats() {
+        return reactiveLabelService.getLabelStats();
+    }
+
+    @GetMapping("/{labelCode}/cooccurrence")
+    public Mono<List<LabelCount>> getCooccurrences(@PathVariable("labelCode") String labelCode) {
+        return reactiveLabelService.getCooccurrences(labelCode)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Label not found with code: " + labelCode)));
+    }
+
+    @GetMapping("/{labelCode}")
+    public Mono<Label> getLabelById(@PathVariable("labelCode") String labelCode) {
+        return reactiveLabelService.getLabelById(labelCode)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Label not found with code: " + labelCode)));
+    }
+
+    @PutMapping("/{labelCode}")
+    public Mono<Label> updateLabel(@PathVariable String labelCode, @RequestBody Label label) {
+        return reactiveLabelService.updateLabel(labelCode, label)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Label not found with code: " + labelCode)));
+    }
+
+    @DeleteMapping("/{labelCode}")
+    public Mono<ResponseEntity<Void>> deleteLabel(@PathVariable String labelCode) {
+        return reactiveLabelService.deleteLabel(labelCode)
+                .flatMap(deleted -> deleted
+                        ? Mono.just(ResponseEntity.noContent().<Void>build())
+                        : Mono.error(new ResourceNotFoundException("Label not found with code: " + labelCode)));
+    }
+}
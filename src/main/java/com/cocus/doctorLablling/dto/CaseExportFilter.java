@@ -0,0 +1,32 @@
+package com.cocus.doctorLablling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Which cases to export; {@code null} fields do not filter.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaseExportFilter {
+    private Long doctorId;
+
+    /**
+     * Cases last labelled at or after this time.
+     */
+    private LocalDateTime labelledFrom;
+
+    /**
+     * Cases last labelled before this time.
+     */
+    private LocalDateTime labelledTo;
+
+    /**
+     * Cases having this label.
+     */
+    private String labelCode;
+}
@@ -0,0 +1,30 @@
+package com.cocus.doctorLablling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A case as exported: its columns and the codes of its labels.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaseExportRow {
+    private String caseId;
+
+    private String caseDescription;
+
+    private Long doctorId;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime firstLabelledAt;
+
+    private LocalDateTime timeToLabel;
+
+    private List<String> labels;
+}
@@ -0,0 +1,29 @@
+package com.cocus.doctorLablling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one case of a bulk import, in the order the cases were sent.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaseImportResult {
+    public enum Status {
+        CREATED,
+        /** A case with the same id already exists, or appears earlier in the same request. */
+        DUPLICATE,
+        /** Missing mandatory field or unknown label code; nothing was written for this case. */
+        INVALID,
+        /** The chunk holding this case could not be written, see the message. */
+        FAILED
+    }
+
+    private String caseId;
+
+    private Status status;
+
+    private String message;
+}
@@ -0,0 +1,14 @@
+package com.cocus.doctorLablling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaseLabelPair {
+    private String caseId;
+
+    private String labelCode;
+}
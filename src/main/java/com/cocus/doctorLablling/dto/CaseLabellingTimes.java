@@ -0,0 +1,24 @@
+package com.cocus.doctorLablling.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A case as it was just labelled, see {@link com.cocus.doctorLablling.service.LabellingMetrics}.
+ */
+public interface CaseLabellingTimes {
+    String getCaseId();
+
+    Long getDoctorId();
+
+    /**
+     * {@code null} for cases created before it was recorded.
+     */
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getLabelledAt();
+
+    /**
+     * Whether this labelling gave the case its first label.
+     */
+    boolean isFirstLabel();
+}
@@ -0,0 +1,20 @@
+package com.cocus.doctorLablling.dto;
+
+import com.cocus.doctorLablling.model.Case;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A case handed out to a doctor, who is the only one it is handed out to until {@code leasedUntil}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaseLease {
+    private Case medicalCase;
+
+    private LocalDateTime leasedUntil;
+}
@@ -0,0 +1,28 @@
+package com.cocus.doctorLablling.dto;
+
+/**
+ * A case matching a search, with the rank of its description. Hits are sorted by decreasing rank, then by case id;
+ * the last hit of a page is the cursor of the next one.
+ */
+public record CaseSearchHit(float rank, String caseId) {
+
+    /**
+     * @throws IllegalArgumentException if {@code cursor} was not returned by the search
+     */
+    public static CaseSearchHit parse(String cursor) {
+        int separator = cursor.indexOf('_');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid search cursor: " + cursor);
+        }
+        try {
+            return new CaseSearchHit(Float.parseFloat(cursor.substring(0, separator)), cursor.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid search cursor: " + cursor, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return rank + "_" + caseId;
+    }
+}
@@ -0,0 +1,24 @@
+package com.cocus.doctorLablling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Case header without its labels, for listings that do not need them.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaseSummary implements Serializable {
+    private String caseId;
+
+    private String caseDescription;
+
+    private Long doctorId;
+
+    private LocalDateTime timeToLabel;
+}
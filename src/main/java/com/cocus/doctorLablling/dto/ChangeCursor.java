@@ -0,0 +1,30 @@
+package com.cocus.doctorLablling.dto;
+
+/**
+ * Position in the change feed: the transaction that wrote an event, then the event within it.
+ */
+public record ChangeCursor(long txid, long eventId) {
+
+    public static final ChangeCursor START = new ChangeCursor(0, 0);
+
+    /**
+     * @throws IllegalArgumentException if {@code cursor} was not returned by the change feed
+     */
+    public static ChangeCursor parse(String cursor) {
+        int separator = cursor.indexOf('-');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid change cursor: " + cursor);
+        }
+        try {
+            return new ChangeCursor(Long.parseLong(cursor.substring(0, separator)),
+                    Long.parseLong(cursor.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid change cursor: " + cursor, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return txid + "-" + eventId;
+    }
+}
@@ -0,0 +1,23 @@
+package com.cocus.doctorLablling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Events of the change feed after a cursor. Unlike {@link CursorPage}, {@code nextCursor} is always set: it is the
+ * cursor to poll with next, the one given when there was no new event.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangePage {
+    private List<LabelEvent> items;
+
+    private String nextCursor;
+
+    /** Whether more events are already available after {@code nextCursor}. */
+    private boolean hasMore;
+}
@@ -0,0 +1,21 @@
+package com.cocus.doctorLablling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is the value to pass as {@code after}
+ * to fetch the following page, or {@code null} when this is the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> implements Serializable {
+    private List<T> items;
+
+    private String nextCursor;
+}
@@ -0,0 +1,33 @@
+package com.cocus.doctorLablling.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in the cases of a doctor, which are sorted by labelling time, then by case id for the cases labelled at
+ * the same time.
+ */
+public record DoctorCaseCursor(LocalDateTime timeToLabel, String caseId) {
+
+    /**
+     * @throws IllegalArgumentException if {@code cursor} was not returned by the listing
+     */
+    public static DoctorCaseCursor parse(String cursor) {
+        // Case ids may contain anything, the timestamp never contains a '_'.
+        int separator = cursor.indexOf('_');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid case cursor: " + cursor);
+        }
+        try {
+            return new DoctorCaseCursor(LocalDateTime.parse(cursor.substring(0, separator)),
+                    cursor.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid case cursor: " + cursor, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return timeToLabel + "_" + caseId;
+    }
+}
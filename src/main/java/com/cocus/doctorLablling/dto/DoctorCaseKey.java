@@ -0,0 +1,12 @@
+package com.cocus.doctorLablling.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The sort key of a case among the cases of its doctor, read from the doctor index alone.
+ */
+public interface DoctorCaseKey {
+    String getCaseId();
+
+    LocalDateTime getTimeToLabel();
+}
@@ -0,0 +1,27 @@
+package com.cocus.doctorLablling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one (case, label) pair of a batch label assignment, in the order the pairs were sent.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LabelAssignmentResult {
+    public enum Status {
+        APPLIED,
+        /** The case already had the label, or the pair appears earlier in the same request. */
+        ALREADY_PRESENT,
+        UNKNOWN_CASE,
+        UNKNOWN_LABEL
+    }
+
+    private String caseId;
+
+    private String labelCode;
+
+    private Status status;
+}
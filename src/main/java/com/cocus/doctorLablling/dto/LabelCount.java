@@ -0,0 +1,19 @@
+package com.cocus.doctorLablling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A label and a number of cases: those with the label, or those it shares with another label.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LabelCount {
+    private String code;
+
+    private String description;
+
+    private long caseCount;
+}
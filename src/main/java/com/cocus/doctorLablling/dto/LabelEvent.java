@@ -0,0 +1,33 @@
+package com.cocus.doctorLablling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One write to a case, as listed by the change feed. {@code labelCode} is only set for label events.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LabelEvent {
+    public enum Type {
+        CASE_CREATED,
+        CASE_UPDATED,
+        LABEL_ADDED,
+        LABEL_REMOVED
+    }
+
+    /** Passed as {@code since}, lists the events after this one. */
+    private String cursor;
+
+    private Type type;
+
+    private String caseId;
+
+    private String labelCode;
+
+    private LocalDateTime occurredAt;
+}
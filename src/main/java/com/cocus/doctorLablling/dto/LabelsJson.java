@@ -0,0 +1,80 @@
+package com.cocus.doctorLablling.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The label catalogue serialized as a JSON array, and gzipped on the first request that accepts it. Each encoding has
+ * its own strong ETag, hashed from the JSON: it only changes when the catalogue does, and is the same on every instance.
+ * <p>
+ * The catalogue is gzipped here rather than by the server, which does not compress responses with a strong ETag, and
+ * so once per write of the catalogue instead of once per read.
+ */
+public final class LabelsJson {
+
+    private final byte[] json;
+
+    private final String eTag;
+
+    private volatile byte[] gzipped;
+
+    private LabelsJson(byte[] json, String eTag) {
+        this.json = json;
+        this.eTag = eTag;
+    }
+
+    public static LabelsJson of(byte[] json) {
+        return new LabelsJson(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+    }
+
+    /**
+     * @return whether an {@code Accept-Encoding} header accepts gzip
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parameters.length == 1 || !parameters[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    public byte[] json() {
+        return json;
+    }
+
+    public String eTag() {
+        return eTag;
+    }
+
+    /**
+     * Concurrent first calls may each compress the JSON, to the same bytes.
+     */
+    public byte[] gzipped() {
+        byte[] result = gzipped;
+        if (result == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024)) {
+                gzip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            result = out.toByteArray();
+            gzipped = result;
+        }
+        return result;
+    }
+
+    public String gzippedETag() {
+        return eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+    }
+}
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.OptimisticLock;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,7 +18,10 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "medical_case")
-public class Case {
+@NamedEntityGraph(name = Case.WITH_LABELS, attributeNodes = @NamedAttributeNode("labels"))
+public class Case implements Serializable {
+    public static final String WITH_LABELS = "Case.labels";
+
     @Id
     @Column(name = "case_id", nullable = false, unique = true)
     private String caseId;
@@ -25,9 +32,44 @@ public class Case {
     @Column(name = "doctor_id", nullable = false)
     private Long doctorId;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.LAZY)
+    @JoinTable(name = "medical_case_labels",
+            joinColumns = @JoinColumn(name = "case_case_id"),
+            inverseJoinColumns = @JoinColumn(name = "labels_code"))
+    @BatchSize(size = 100)
+    // Label writes go through the join table and increment the version themselves.
+    @OptimisticLock(excluded = true)
+    // A case may have thousands of labels, and they may not be loaded.
+    @ToString.Exclude
     private List<Label> labels = new ArrayList<>();
 
+    /**
+     * When the case was last labelled, or created if it has no label yet.
+     */
     @Column(name = "time_to_label", nullable = false)
     private LocalDateTime timeToLabel;
+
+    /**
+     * {@code null} for cases created before it was recorded.
+     */
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Set once, when the case is created with labels or by the labelling updates of {@code CaseRepository}.
+     */
+    @Column(name = "first_labelled_at", updatable = false)
+    private LocalDateTime firstLabelledAt;
+
+    /**
+     * Incremented by every write to the case, its labels included; exposed as the ETag of the case.
+     * A primitive, so that {@code save} keeps merging cases whose id is set by the client.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    public Case(String caseId, String caseDescription, Long doctorId, List<Label> labels, LocalDateTime timeToLabel) {
+        this(caseId, caseDescription, doctorId, labels, timeToLabel, null, null, 0L);
+    }
 }
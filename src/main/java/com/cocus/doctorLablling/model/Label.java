@@ -8,12 +8,14 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "label")
-public class Label {
+public class Label implements Serializable {
     @Id
     @Column(name = "code", nullable = false, unique = true)
     private String code;
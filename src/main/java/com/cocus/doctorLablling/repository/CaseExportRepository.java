@@ -0,0 +1,86 @@
+package com.cocus.doctorLablling.repository;
+
+import com.cocus.doctorLablling.dto.CaseExportFilter;
+import com.cocus.doctorLablling.dto.CaseExportRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads cases for the export straight from JDBC, bypassing the persistence context and the caches.
+ */
+@Repository
+public class CaseExportRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Passes every case matching the filter to {@code consumer}, ordered by id, as it is read.
+     * <p>
+     * The PostgreSQL driver only fetches a forward-only result set {@code fetchSize} rows at a time, through a
+     * server-side cursor, within a transaction: call it in one so that memory does not grow with the table.
+     * The label codes of each case are read from the primary key index of the join table.
+     */
+    public void forEachCase(CaseExportFilter filter, int fetchSize, Consumer<CaseExportRow> consumer) {
+        StringBuilder sql = new StringBuilder("SELECT c.case_id, c.case_description, c.doctor_id, c.created_at, "
+                + "c.first_labelled_at, c.time_to_label, "
+                + "ARRAY(SELECT cl.labels_code FROM medical_case_labels cl WHERE cl.case_case_id = c.case_id "
+                + "ORDER BY cl.labels_code) AS label_codes "
+                + "FROM medical_case c WHERE TRUE");
+        List<Object> parameters = new ArrayList<>();
+        if (filter.getDoctorId() != null) {
+            sql.append(" AND c.doctor_id = ?");
+            parameters.add(filter.getDoctorId());
+        }
+        if (filter.getLabelledFrom() != null) {
+            sql.append(" AND c.time_to_label >= ?");
+            parameters.add(Timestamp.valueOf(filter.getLabelledFrom()));
+        }
+        if (filter.getLabelledTo() != null) {
+            sql.append(" AND c.time_to_label < ?");
+            parameters.add(Timestamp.valueOf(filter.getLabelledTo()));
+        }
+        if (filter.getLabelCode() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM medical_case_labels l "
+                    + "WHERE l.case_case_id = c.case_id AND l.labels_code = ?)");
+            parameters.add(filter.getLabelCode());
+        }
+        sql.append(" ORDER BY c.case_id");
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(toRow(resultSet)));
+    }
+
+    private static CaseExportRow toRow(ResultSet resultSet) throws SQLException {
+        Array labelCodes = resultSet.getArray("label_codes");
+        return new CaseExportRow(resultSet.getString("case_id"), resultSet.getString("case_description"),
+                resultSet.getLong("doctor_id"), toLocalDateTime(resultSet.getTimestamp("created_at")),
+                toLocalDateTime(resultSet.getTimestamp("first_labelled_at")),
+                toLocalDateTime(resultSet.getTimestamp("time_to_label")),
+                Arrays.asList((String[]) labelCodes.getArray()));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
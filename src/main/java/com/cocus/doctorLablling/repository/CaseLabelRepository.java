@@ -0,0 +1,62 @@
+package com.cocus.doctorLablling.repository;
+
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based writes on the {@code medical_case_labels} join table, bypassing the {@code Case.labels} collection
+ * so that adding or removing labels never rewrites the whole collection of a case.
+ */
+@Repository
+public class CaseLabelRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return whether the row was inserted, {@code false} if the case already had the label
+     */
+    public boolean insert(String caseId, String labelCode) {
+        return jdbcTemplate.update(
+                "INSERT INTO medical_case_labels (case_case_id, labels_code) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                caseId, labelCode) > 0;
+    }
+
+    /**
+     * @return whether the row was deleted, {@code false} if the case did not have the label
+     */
+    public boolean delete(String caseId, String labelCode) {
+        return jdbcTemplate.update(
+                "DELETE FROM medical_case_labels WHERE case_case_id = ? AND labels_code = ?",
+                caseId, labelCode) > 0;
+    }
+
+    /**
+     * Inserts all pairs in a single statement.
+     *
+     * @return the pairs actually inserted, i.e. without those the case already had
+     */
+    public List<CaseLabelPair> insertAll(Collection<CaseLabelPair> pairs) {
+        if (pairs.isEmpty()) {
+            return List.of();
+        }
+        String[] caseIds = pairs.stream().map(CaseLabelPair::getCaseId).toArray(String[]::new);
+        String[] labelCodes = pairs.stream().map(CaseLabelPair::getLabelCode).toArray(String[]::new);
+        return jdbcTemplate.query(
+                "INSERT INTO medical_case_labels (case_case_id, labels_code) "
+                        + "SELECT * FROM unnest(?::varchar[], ?::varchar[]) "
+                        + "ON CONFLICT DO NOTHING RETURNING case_case_id, labels_code",
+                ps -> {
+                    Connection connection = ps.getConnection();
+                    ps.setArray(1, connection.createArrayOf("varchar", caseIds));
+                    ps.setArray(2, connection.createArrayOf("varchar", labelCodes));
+                },
+                (rs, rowNum) -> new CaseLabelPair(rs.getString("case_case_id"), rs.getString("labels_code")));
+    }
+}
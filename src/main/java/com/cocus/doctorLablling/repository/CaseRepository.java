@@ -1,19 +1,151 @@
 package com.cocus.doctorLablling.repository;
 
+import com.cocus.doctorLablling.dto.CaseLabellingTimes;
+import com.cocus.doctorLablling.dto.CaseSummary;
+import com.cocus.doctorLablling.dto.DoctorCaseKey;
 import com.cocus.doctorLablling.model.Case;
-import com.cocus.doctorLablling.model.Label;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CaseRepository extends JpaRepository<Case, String> {
 
-    @Query("SELECT c FROM Case c JOIN c.labels l WHERE l.code = :labelCode AND SIZE(c.labels) > 0")
-    List<Case> findByLabelCode(@Param("labelCode") String labelCode);
-}
+    /**
+     * Both timestamps are only equal right after the first label, the others leave {@code first_labelled_at} behind.
+     */
+    String RETURNING_LABELLING_TIMES = "RETURNING case_id AS \"caseId\", doctor_id AS \"doctorId\", "
+            + "created_at AS \"createdAt\", time_to_label AS \"labelledAt\", "
+            + "first_labelled_at = time_to_label AS \"firstLabel\"";
+
+    @Override
+    @EntityGraph(Case.WITH_LABELS)
+    Optional<Case> findById(String caseId);
+
+    @Override
+    @EntityGraph(Case.WITH_LABELS)
+    List<Case> findAll();
+
+    /**
+     * Ids of the cases carrying a label, read from the label -> case index of the join table alone.
+     */
+    @Query(value = "SELECT cl.case_case_id FROM medical_case_labels cl WHERE cl.labels_code = :labelCode "
+            + "ORDER BY cl.case_case_id", nativeQuery = true)
+    List<String> findCaseIdsByLabelCode(@Param("labelCode") String labelCode);
+
+    /**
+     * Keyset page of {@link #findCaseIdsByLabelCode(String)}.
+     */
+    @Query(value = "SELECT cl.case_case_id FROM medical_case_labels cl WHERE cl.labels_code = :labelCode "
+            + "AND cl.case_case_id > :after ORDER BY cl.case_case_id LIMIT :limit", nativeQuery = true)
+    List<String> findCaseIdsByLabelCodeAfter(@Param("labelCode") String labelCode, @Param("after") String after,
+                                             @Param("limit") int limit);
+
+    /**
+     * First page of the cases of a doctor, by labelling time then case id, read from the
+     * {@code (doctor_id, time_to_label, case_id)} index alone.
+     */
+    @Query(value = "SELECT c.case_id AS \"caseId\", c.time_to_label AS \"timeToLabel\" FROM medical_case c "
+            + "WHERE c.doctor_id = :doctorId ORDER BY c.time_to_label, c.case_id LIMIT :limit", nativeQuery = true)
+    List<DoctorCaseKey> findKeysByDoctorId(@Param("doctorId") Long doctorId, @Param("limit") int limit);
+
+    /**
+     * Keyset page of {@link #findKeysByDoctorId(Long, int)}: the cases that sort after the given one.
+     */
+    @Query(value = "SELECT c.case_id AS \"caseId\", c.time_to_label AS \"timeToLabel\" FROM medical_case c "
+            + "WHERE c.doctor_id = :doctorId AND (c.time_to_label, c.case_id) > (:afterTimeToLabel, :afterCaseId) "
+            + "ORDER BY c.time_to_label, c.case_id LIMIT :limit", nativeQuery = true)
+    List<DoctorCaseKey> findKeysByDoctorIdAfter(@Param("doctorId") Long doctorId,
+                                                @Param("afterTimeToLabel") LocalDateTime afterTimeToLabel,
+                                                @Param("afterCaseId") String afterCaseId, @Param("limit") int limit);
+
+    @Query("SELECT c.caseId FROM Case c WHERE c.caseId IN :caseIds")
+    List<String> findExistingIds(@Param("caseIds") Collection<String> caseIds);
+
+    /**
+     * Keyset page of case ids: the ids that sort after {@code after}, walked along the primary key index.
+     * Only the page size of the {@link Pageable} is meant to be used, never an offset.
+     */
+    @Query("SELECT c.caseId FROM Case c WHERE c.caseId > :after ORDER BY c.caseId")
+    List<String> findIdsAfter(@Param("after") String after, Pageable pageable);
 
+    /**
+     * Loads a page of cases together with all their labels in a single round trip.
+     */
+    @EntityGraph(Case.WITH_LABELS)
+    @Query("SELECT c FROM Case c WHERE c.caseId IN :caseIds ORDER BY c.caseId")
+    List<Case> findWithLabelsByCaseIdIn(@Param("caseIds") Collection<String> caseIds);
+
+    @Query("SELECT new com.cocus.doctorLablling.dto.CaseSummary(c.caseId, c.caseDescription, c.doctorId, c.timeToLabel) "
+            + "FROM Case c WHERE c.caseId > :after ORDER BY c.caseId")
+    List<CaseSummary> findSummariesAfter(@Param("after") String after, Pageable pageable);
+
+    /**
+     * Marks the cases as labelled, incrementing their version as their labels changed.
+     *
+     * @return the cases updated, as {@link CaseLabellingTimes}
+     */
+    @Query(value = "UPDATE medical_case SET time_to_label = :timeToLabel, "
+            + "first_labelled_at = COALESCE(first_labelled_at, :timeToLabel), version = version + 1 "
+            + "WHERE case_id IN (:caseIds) " + RETURNING_LABELLING_TIMES, nativeQuery = true)
+    List<CaseLabellingTimes> updateTimeToLabel(@Param("caseIds") Collection<String> caseIds,
+                                               @Param("timeToLabel") LocalDateTime timeToLabel);
+
+    /**
+     * {@link #updateTimeToLabel(Collection, LocalDateTime)} of one case, provided it is still at {@code version}.
+     *
+     * @return empty if the case does not exist or has been modified since
+     */
+    @Query(value = "UPDATE medical_case SET time_to_label = :timeToLabel, "
+            + "first_labelled_at = COALESCE(first_labelled_at, :timeToLabel), version = version + 1 "
+            + "WHERE case_id = :caseId AND version = :version " + RETURNING_LABELLING_TIMES, nativeQuery = true)
+    List<CaseLabellingTimes> updateTimeToLabel(@Param("caseId") String caseId, @Param("timeToLabel") LocalDateTime timeToLabel,
+                                               @Param("version") long version);
+
+    /**
+     * Extends the lease the doctor holds on a case that is still unlabelled. Leases do not change the case, nor its
+     * version.
+     *
+     * @return the id of the case, or nothing if the doctor holds no live lease
+     */
+    @Query(value = "UPDATE medical_case SET lease_expires_at = :leasedUntil "
+            + "WHERE leased_by = :doctorId AND lease_expires_at > :now AND first_labelled_at IS NULL "
+            + "RETURNING case_id", nativeQuery = true)
+    List<String> renewLease(@Param("doctorId") Long doctorId, @Param("now") LocalDateTime now,
+                            @Param("leasedUntil") LocalDateTime leasedUntil);
+
+    /**
+     * Leases the oldest unlabelled case that nobody holds a live lease on. Cases being leased by a concurrent call
+     * are skipped rather than waited for, and the lease condition is checked again on the row once locked, so that
+     * two calls never lease the same case.
+     *
+     * @return the id of the case, or nothing if every unlabelled case is leased
+     */
+    @Query(value = "UPDATE medical_case SET leased_by = :doctorId, lease_expires_at = :leasedUntil "
+            + "WHERE case_id = (SELECT c.case_id FROM medical_case c WHERE c.first_labelled_at IS NULL "
+            + "AND (c.lease_expires_at IS NULL OR c.lease_expires_at <= :now) "
+            + "ORDER BY c.created_at, c.case_id LIMIT 1 FOR UPDATE SKIP LOCKED) "
+            + "RETURNING case_id", nativeQuery = true)
+    List<String> leaseNext(@Param("doctorId") Long doctorId, @Param("now") LocalDateTime now,
+                           @Param("leasedUntil") LocalDateTime leasedUntil);
+
+    @Modifying
+    @Query("UPDATE Case c SET c.version = c.version + 1 WHERE c.caseId = :caseId")
+    int incrementVersion(@Param("caseId") String caseId);
+
+    /**
+     * @return 0 if the case does not exist or has been modified since {@code version}
+     */
+    @Modifying
+    @Query("UPDATE Case c SET c.version = c.version + 1 WHERE c.caseId = :caseId AND c.version = :version")
+    int incrementVersion(@Param("caseId") String caseId, @Param("version") long version);
+}
@@ -0,0 +1,57 @@
+package com.cocus.doctorLablling.repository;
+
+import com.cocus.doctorLablling.dto.CaseSearchHit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full-text search over the case descriptions. {@code medical_case.description_search} is a column generated by
+ * PostgreSQL from {@code case_description}, so that every write of a case, from either stack or the bulk import,
+ * keeps it and its GIN index up to date.
+ */
+@Repository
+public class CaseSearchRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param query     words to find, in the syntax of {@code websearch_to_tsquery}: quoted phrases, {@code or} and
+     *                  {@code -} to exclude a word
+     * @param doctorId  only the cases of this doctor, if not {@code null}
+     * @param labelCode only the cases with this label, if not {@code null}
+     * @param after     the last hit of the previous page, or {@code null} for the first page
+     * @return at most {@code limit} hits, best ranked first
+     */
+    public List<CaseSearchHit> search(String query, Long doctorId, String labelCode, CaseSearchHit after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT c.case_id, ts_rank(c.description_search, q) AS rank "
+                + "FROM medical_case c, websearch_to_tsquery('english', ?) q WHERE c.description_search @@ q");
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(query);
+        if (doctorId != null) {
+            sql.append(" AND c.doctor_id = ?");
+            parameters.add(doctorId);
+        }
+        if (labelCode != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM medical_case_labels l "
+                    + "WHERE l.case_case_id = c.case_id AND l.labels_code = ?)");
+            parameters.add(labelCode);
+        }
+        if (after != null) {
+            sql.append(" AND (ts_rank(c.description_search, q) < ? "
+                    + "OR (ts_rank(c.description_search, q) = ? AND c.case_id > ?))");
+            parameters.add(after.rank());
+            parameters.add(after.rank());
+            parameters.add(after.caseId());
+        }
+        sql.append(" ORDER BY rank DESC, c.case_id LIMIT ?");
+        parameters.add(limit);
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new CaseSearchHit(rs.getFloat("rank"), rs.getString("case_id")),
+                parameters.toArray());
+    }
+}
@@ -0,0 +1,72 @@
+package com.cocus.doctorLablling.repository;
+
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.ChangeCursor;
+import com.cocus.doctorLablling.dto.LabelEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The append-only {@code label_event} table behind the change feed. Events are appended by the transaction of the
+ * write they record, and so are rolled back with it.
+ * <p>
+ * Event ids are handed out in insertion order, not commit order: a reader could see event 11 while event 10 is still
+ * uncommitted, and skip event 10 for good. Events are therefore listed by the id of the transaction that wrote them,
+ * and only for transactions older than the oldest one still running, whose events can no longer change.
+ * A long-running transaction holds the feed back until it ends.
+ */
+@Repository
+public class LabelEventRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void append(LabelEvent.Type type, String caseId, String labelCode) {
+        jdbcTemplate.update("INSERT INTO label_event (event_type, case_id, label_code) VALUES (?, ?, ?)",
+                type.name(), caseId, labelCode);
+    }
+
+    /**
+     * Appends one event of {@code type} per pair, in a single statement. The label codes are {@code null} for case
+     * events.
+     */
+    public void appendAll(LabelEvent.Type type, Collection<CaseLabelPair> pairs) {
+        if (pairs.isEmpty()) {
+            return;
+        }
+        String[] caseIds = pairs.stream().map(CaseLabelPair::getCaseId).toArray(String[]::new);
+        String[] labelCodes = pairs.stream().map(CaseLabelPair::getLabelCode).toArray(String[]::new);
+        jdbcTemplate.update(
+                "INSERT INTO label_event (event_type, case_id, label_code) "
+                        + "SELECT ?, * FROM unnest(?::varchar[], ?::varchar[])",
+                ps -> {
+                    Connection connection = ps.getConnection();
+                    ps.setString(1, type.name());
+                    ps.setArray(2, connection.createArrayOf("varchar", caseIds));
+                    ps.setArray(3, connection.createArrayOf("varchar", labelCodes));
+                });
+    }
+
+    /**
+     * @return at most {@code limit} committed events after {@code cursor}, in feed order
+     */
+    public List<LabelEvent> findAfter(ChangeCursor cursor, int limit) {
+        return jdbcTemplate.query(
+                "SELECT event_id, txid, event_type, case_id, label_code, occurred_at FROM label_event "
+                        + "WHERE (txid, event_id) > (?, ?) AND txid < txid_snapshot_xmin(txid_current_snapshot()) "
+                        + "ORDER BY txid, event_id LIMIT ?",
+                (rs, rowNum) -> new LabelEvent(
+                        new ChangeCursor(rs.getLong("txid"), rs.getLong("event_id")).toString(),
+                        LabelEvent.Type.valueOf(rs.getString("event_type")),
+                        rs.getString("case_id"),
+                        rs.getString("label_code"),
+                        rs.getObject("occurred_at", LocalDateTime.class)),
+                cursor.txid(), cursor.eventId(), limit);
+    }
+}
@@ -0,0 +1,107 @@
+package com.cocus.doctorLablling.repository;
+
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Label aggregates, kept up to date by the label writes instead of being computed from {@code medical_case_labels}:
+ * {@code label_stats} counts the cases of each label and {@code label_cooccurrence} the cases of each pair of labels,
+ * in both directions so that the labels found with one label are a single index range.
+ * <p>
+ * Writers update them in the transaction of the label write, once they hold the lock on the row of each case written:
+ * the labels of the case seen then already include those of the previous writer of the case, which committed, so that
+ * each pair of labels is counted once even when both are added concurrently.
+ */
+@Repository
+public class LabelStatsRepository {
+
+    /**
+     * Applies a {@code changed (case_id, label_code, delta)} relation of the label rows just inserted ({@code delta}
+     * 1) or deleted ({@code delta} -1) to the aggregates. Every changed label pairs with the other labels of its case,
+     * in both directions, and with the other changed labels of the case, in one direction since they pair back.
+     * Rows are upserted in key order so that concurrent writers lock them in the same order.
+     */
+    public static final String UPDATE_AGGREGATES = ", unchanged AS ("
+            + "SELECT cl.case_case_id AS case_id, cl.labels_code AS label_code FROM medical_case_labels cl "
+            + "WHERE cl.case_case_id IN (SELECT case_id FROM changed) AND NOT EXISTS ("
+            + "SELECT 1 FROM changed c WHERE c.case_id = cl.case_case_id AND c.label_code = cl.labels_code)), "
+            + "counted AS (INSERT INTO label_stats (label_code, case_count) "
+            + "SELECT label_code, sum(delta) FROM changed GROUP BY label_code ORDER BY label_code "
+            + "ON CONFLICT (label_code) DO UPDATE SET case_count = label_stats.case_count + EXCLUDED.case_count) "
+            + "INSERT INTO label_cooccurrence (label_code, other_code, case_count) "
+            + "SELECT label_code, other_code, sum(delta) FROM ("
+            + "SELECT c.label_code, u.label_code AS other_code, c.delta FROM changed c JOIN unchanged u ON u.case_id = c.case_id "
+            + "UNION ALL SELECT u.label_code, c.label_code, c.delta FROM changed c JOIN unchanged u ON u.case_id = c.case_id "
+            + "UNION ALL SELECT c.label_code, o.label_code, c.delta FROM changed c "
+            + "JOIN changed o ON o.case_id = c.case_id AND o.label_code <> c.label_code"
+            + ") pairs GROUP BY label_code, other_code ORDER BY label_code, other_code "
+            + "ON CONFLICT (label_code, other_code) DO UPDATE SET case_count = label_cooccurrence.case_count + EXCLUDED.case_count";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param pairs the rows inserted in {@code medical_case_labels}, without those the cases already had
+     */
+    public void labelsAdded(Collection<CaseLabelPair> pairs) {
+        update(pairs, 1);
+    }
+
+    /**
+     * @param pairs the rows deleted from {@code medical_case_labels}
+     */
+    public void labelsRemoved(Collection<CaseLabelPair> pairs) {
+        update(pairs, -1);
+    }
+
+    private void update(Collection<CaseLabelPair> pairs, int delta) {
+        if (pairs.isEmpty()) {
+            return;
+        }
+        String[] caseIds = pairs.stream().map(CaseLabelPair::getCaseId).toArray(String[]::new);
+        String[] labelCodes = pairs.stream().map(CaseLabelPair::getLabelCode).toArray(String[]::new);
+        jdbcTemplate.update(
+                "WITH changed AS (SELECT t.case_id, t.label_code, ?::int AS delta "
+                        + "FROM unnest(?::varchar[], ?::varchar[]) AS t (case_id, label_code))" + UPDATE_AGGREGATES,
+                ps -> {
+                    Connection connection = ps.getConnection();
+                    ps.setInt(1, delta);
+                    ps.setArray(2, connection.createArrayOf("varchar", caseIds));
+                    ps.setArray(3, connection.createArrayOf("varchar", labelCodes));
+                });
+    }
+
+    /**
+     * @return the number of cases of each label that has ever been on a case
+     */
+    public Map<String, Long> findCaseCounts() {
+        Map<String, Long> caseCounts = new HashMap<>();
+        jdbcTemplate.query("SELECT label_code, case_count FROM label_stats",
+                rs -> {
+                    caseCounts.put(rs.getString("label_code"), rs.getLong("case_count"));
+                });
+        return caseCounts;
+    }
+
+    /**
+     * @return the number of cases the label shares with each other label, most shared first
+     */
+    public Map<String, Long> findCooccurrences(String labelCode) {
+        Map<String, Long> cooccurrences = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT other_code, case_count FROM label_cooccurrence "
+                        + "WHERE label_code = ? AND case_count > 0 ORDER BY case_count DESC, other_code",
+                rs -> {
+                    cooccurrences.put(rs.getString("other_code"), rs.getLong("case_count"));
+                },
+                labelCode);
+        return cooccurrences;
+    }
+}
@@ -0,0 +1,310 @@
+package com.cocus.doctorLablling.repository;
+
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.CaseLabellingTimes;
+import com.cocus.doctorLablling.dto.CaseSummary;
+import com.cocus.doctorLablling.dto.LabelEvent;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * R2DBC access to {@code medical_case} and its {@code medical_case_labels} for the reactive stack.
+ * <p>
+ * Cases are read with their labels in a single query ordered by case id, one row per label, and the rows of each case
+ * are folded into a {@link Case} as they arrive. Results are fetched {@code r2dbc.fetch-size} rows at a time, so that
+ * a slow subscriber holds back the query instead of the rows piling up in memory.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCaseRepository {
+
+    private static final String SELECT_WITH_LABELS =
+            "SELECT c.case_id, c.case_description, c.doctor_id, c.time_to_label, c.created_at, c.first_labelled_at, "
+                    + "c.version, l.code, l.description "
+                    + "FROM medical_case c "
+                    + "LEFT JOIN medical_case_labels cl ON cl.case_case_id = c.case_id "
+                    + "LEFT JOIN label l ON l.code = cl.labels_code ";
+
+    private static final String ORDER_BY_CASE = " ORDER BY c.case_id, l.code";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Value("${r2dbc.fetch-size:500}")
+    private int fetchSize;
+
+    public Flux<Case> findAllWithLabels() {
+        return queryWithLabels("", Map.of());
+    }
+
+    public Mono<Case> findWithLabelsById(String caseId) {
+        return queryWithLabels("WHERE c.case_id = :caseId", Map.of("caseId", caseId)).next();
+    }
+
+    public Flux<Case> findWithLabelsByLabelCode(String labelCode) {
+        return queryWithLabels("WHERE c.case_id IN "
+                + "(SELECT cl2.case_case_id FROM medical_case_labels cl2 WHERE cl2.labels_code = :labelCode)",
+                Map.of("labelCode", labelCode));
+    }
+
+    /**
+     * Keyset page of cases with their labels: the {@code limit} cases whose id sorts after {@code after}.
+     */
+    public Flux<Case> findPageWithLabels(String after, int limit) {
+        return queryWithLabels("WHERE c.case_id IN "
+                + "(SELECT c2.case_id FROM medical_case c2 WHERE c2.case_id > :after ORDER BY c2.case_id LIMIT :limit)",
+                Map.of("after", after, "limit", limit));
+    }
+
+    /**
+     * Keyset page of {@link #findWithLabelsByLabelCode(String)}, walked along the label index.
+     */
+    public Flux<Case> findPageWithLabelsByLabelCode(String labelCode, String after, int limit) {
+        return queryWithLabels("WHERE c.case_id IN "
+                + "(SELECT cl2.case_case_id FROM medical_case_labels cl2 WHERE cl2.labels_code = :labelCode "
+                + "AND cl2.case_case_id > :after ORDER BY cl2.case_case_id LIMIT :limit)",
+                Map.of("labelCode", labelCode, "after", after, "limit", limit));
+    }
+
+    public Flux<CaseSummary> findSummariesAfter(String after, int limit) {
+        return databaseClient.sql("SELECT case_id, case_description, doctor_id, time_to_label FROM medical_case "
+                        + "WHERE case_id > :after ORDER BY case_id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(row -> new CaseSummary(row.get("case_id", String.class), row.get("case_description", String.class),
+                        row.get("doctor_id", Long.class), row.get("time_to_label", LocalDateTime.class)))
+                .all();
+    }
+
+    public Mono<Boolean> existsById(String caseId) {
+        return databaseClient.sql("SELECT 1 FROM medical_case WHERE case_id = :caseId")
+                .bind("caseId", caseId)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Flux<String> findExistingIds(Collection<String> caseIds) {
+        return databaseClient.sql("SELECT case_id FROM medical_case WHERE case_id = ANY(:caseIds)")
+                .bind("caseIds", caseIds.toArray(String[]::new))
+                .map(row -> row.get("case_id", String.class))
+                .all();
+    }
+
+    /**
+     * Inserts the case, or overwrites the case with the same id, without touching its labels nor when it was created
+     * and first labelled.
+     */
+    public Mono<Void> upsert(Case caseObj) {
+        return databaseClient.sql("INSERT INTO medical_case (case_id, case_description, doctor_id, time_to_label, "
+                        + "created_at, first_labelled_at) "
+                        + "VALUES (:caseId, :caseDescription, :doctorId, :timeToLabel, :timeToLabel, :firstLabelledAt) "
+                        + "ON CONFLICT (case_id) DO UPDATE SET case_description = EXCLUDED.case_description, "
+                        + "doctor_id = EXCLUDED.doctor_id, time_to_label = EXCLUDED.time_to_label, "
+                        + "version = medical_case.version + 1")
+                .bind("caseId", caseObj.getCaseId())
+                .bind("caseDescription", caseObj.getCaseDescription())
+                .bind("doctorId", caseObj.getDoctorId())
+                .bind("timeToLabel", caseObj.getTimeToLabel())
+                .bind("firstLabelledAt", Parameters.in(R2dbcType.TIMESTAMP, caseObj.getFirstLabelledAt()))
+                .then();
+    }
+
+    /**
+     * @return whether the case exists
+     */
+    public Mono<Boolean> update(String caseId, String caseDescription, Long doctorId) {
+        return databaseClient.sql("UPDATE medical_case SET case_description = :caseDescription, doctor_id = :doctorId, "
+                        + "version = version + 1 WHERE case_id = :caseId")
+                .bind("caseId", caseId)
+                .bind("caseDescription", caseDescription)
+                .bind("doctorId", doctorId)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    /**
+     * Marks the cases as labelled, incrementing their version as their labels changed, as
+     * {@link CaseRepository#updateTimeToLabel(Collection, LocalDateTime)}.
+     */
+    public Flux<CaseLabellingTimes> updateTimeToLabel(Collection<String> caseIds, LocalDateTime timeToLabel) {
+        return databaseClient.sql("UPDATE medical_case SET time_to_label = :timeToLabel, "
+                        + "first_labelled_at = COALESCE(first_labelled_at, :timeToLabel), version = version + 1 "
+                        + "WHERE case_id = ANY(:caseIds) " + CaseRepository.RETURNING_LABELLING_TIMES)
+                .bind("caseIds", caseIds.toArray(String[]::new))
+                .bind("timeToLabel", timeToLabel)
+                .map(row -> (CaseLabellingTimes) new LabellingTimesRow(row.get("caseId", String.class),
+                        row.get("doctorId", Long.class), row.get("createdAt", LocalDateTime.class),
+                        row.get("labelledAt", LocalDateTime.class), Boolean.TRUE.equals(row.get("firstLabel", Boolean.class))))
+                .all();
+    }
+
+    public Mono<Void> incrementVersion(String caseId) {
+        return databaseClient.sql("UPDATE medical_case SET version = version + 1 WHERE case_id = :caseId")
+                .bind("caseId", caseId)
+                .then();
+    }
+
+    /**
+     * @return whether the row was inserted, {@code false} if the case already had the label
+     */
+    public Mono<Boolean> insertLabel(String caseId, String labelCode) {
+        return databaseClient.sql("INSERT INTO medical_case_labels (case_case_id, labels_code) "
+                        + "VALUES (:caseId, :labelCode) ON CONFLICT DO NOTHING")
+                .bind("caseId", caseId)
+                .bind("labelCode", labelCode)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    public Mono<Boolean> deleteLabel(String caseId, String labelCode) {
+        return databaseClient.sql("DELETE FROM medical_case_labels WHERE case_case_id = :caseId AND labels_code = :labelCode")
+                .bind("caseId", caseId)
+                .bind("labelCode", labelCode)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    /**
+     * Deletes all the labels of the case.
+     *
+     * @return the pairs deleted
+     */
+    public Flux<CaseLabelPair> deleteLabels(String caseId) {
+        return databaseClient.sql("DELETE FROM medical_case_labels WHERE case_case_id = :caseId "
+                        + "RETURNING case_case_id, labels_code")
+                .bind("caseId", caseId)
+                .map(row -> new CaseLabelPair(row.get("case_case_id", String.class), row.get("labels_code", String.class)))
+                .all();
+    }
+
+    /**
+     * Inserts all pairs in a single statement.
+     *
+     * @return the pairs actually inserted, i.e. without those the case already had
+     */
+    public Flux<CaseLabelPair> insertLabels(Collection<CaseLabelPair> pairs) {
+        if (pairs.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("INSERT INTO medical_case_labels (case_case_id, labels_code) "
+                        + "SELECT * FROM unnest(:caseIds::varchar[], :labelCodes::varchar[]) "
+                        + "ON CONFLICT DO NOTHING RETURNING case_case_id, labels_code")
+                .bind("caseIds", pairs.stream().map(CaseLabelPair::getCaseId).toArray(String[]::new))
+                .bind("labelCodes", pairs.stream().map(CaseLabelPair::getLabelCode).toArray(String[]::new))
+                .map(row -> new CaseLabelPair(row.get("case_case_id", String.class), row.get("labels_code", String.class)))
+                .all();
+    }
+
+    /**
+     * Appends to the change feed, as {@link LabelEventRepository#append(LabelEvent.Type, String, String)}.
+     */
+    public Mono<Void> appendEvent(LabelEvent.Type type, String caseId, String labelCode) {
+        return databaseClient.sql("INSERT INTO label_event (event_type, case_id, label_code) "
+                        + "VALUES (:type, :caseId, :labelCode)")
+                .bind("type", type.name())
+                .bind("caseId", caseId)
+                .bind("labelCode", Parameters.in(R2dbcType.VARCHAR, labelCode))
+                .then();
+    }
+
+    /**
+     * Appends one event of {@code type} per pair in a single statement, as
+     * {@link LabelEventRepository#appendAll(LabelEvent.Type, Collection)}.
+     */
+    public Mono<Void> appendEvents(LabelEvent.Type type, Collection<CaseLabelPair> pairs) {
+        if (pairs.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("INSERT INTO label_event (event_type, case_id, label_code) "
+                        + "SELECT :type, * FROM unnest(:caseIds::varchar[], :labelCodes::varchar[])")
+                .bind("type", type.name())
+                .bind("caseIds", pairs.stream().map(CaseLabelPair::getCaseId).toArray(String[]::new))
+                .bind("labelCodes", pairs.stream().map(CaseLabelPair::getLabelCode).toArray(String[]::new))
+                .then();
+    }
+
+    private Flux<Case> queryWithLabels(String where, Map<String, Object> parameters) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(SELECT_WITH_LABELS + where + ORDER_BY_CASE)
+                .filter(statement -> statement.fetchSize(fetchSize));
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map(CaseLabelRow::of)
+                .all()
+                .bufferUntilChanged(CaseLabelRow::caseId)
+                .map(ReactiveCaseRepository::toCase);
+    }
+
+    private static Case toCase(List<CaseLabelRow> rows) {
+        CaseLabelRow first = rows.get(0);
+        List<Label> labels = new ArrayList<>(rows.size());
+        for (CaseLabelRow row : rows) {
+            if (row.labelCode() != null) {
+                labels.add(new Label(row.labelCode(), row.labelDescription()));
+            }
+        }
+        return new Case(first.caseId(), first.caseDescription(), first.doctorId(), labels, first.timeToLabel(),
+                first.createdAt(), first.firstLabelledAt(), first.version());
+    }
+
+    private record CaseLabelRow(String caseId, String caseDescription, Long doctorId, LocalDateTime timeToLabel,
+                                LocalDateTime createdAt, LocalDateTime firstLabelledAt, long version,
+                                String labelCode, String labelDescription) {
+
+        static CaseLabelRow of(Readable row) {
+            return new CaseLabelRow(row.get("case_id", String.class), row.get("case_description", String.class),
+                    row.get("doctor_id", Long.class), row.get("time_to_label", LocalDateTime.class),
+                    row.get("created_at", LocalDateTime.class), row.get("first_labelled_at", LocalDateTime.class),
+                    row.get("version", Long.class), row.get("code", String.class), row.get("description", String.class));
+        }
+    }
+
+    public record LabellingTimesRow(String caseId, Long doctorId, LocalDateTime createdAt, LocalDateTime labelledAt,
+                                    boolean firstLabel) implements CaseLabellingTimes {
+
+        @Override
+        public String getCaseId() {
+            return caseId;
+        }
+
+        @Override
+        public Long getDoctorId() {
+            return doctorId;
+        }
+
+        @Override
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        @Override
+        public LocalDateTime getLabelledAt() {
+            return labelledAt;
+        }
+
+        @Override
+        public boolean isFirstLabel() {
+            return firstLabel;
+        }
+    }
+}
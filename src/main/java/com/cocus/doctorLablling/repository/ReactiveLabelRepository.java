@@ -0,0 +1,120 @@
+package com.cocus.doctorLablling.repository;
+
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.model.Label;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * R2DBC writes on {@code label} for the reactive stack, and the label aggregates of {@link LabelStatsRepository}.
+ * Labels are read from the {@link com.cocus.doctorLablling.service.LabelCatalogue}.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLabelRepository {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    /**
+     * Inserts the label, or overwrites the description of the label with the same code.
+     */
+    public Mono<Label> upsert(Label label) {
+        return databaseClient.sql("INSERT INTO label (code, description) VALUES (:code, :description) "
+                        + "ON CONFLICT (code) DO UPDATE SET description = EXCLUDED.description")
+                .bind("code", label.getCode())
+                .bind("description", label.getDescription())
+                .then()
+                .thenReturn(new Label(label.getCode(), label.getDescription()));
+    }
+
+    /**
+     * Inserts the label unless a label with the same code exists.
+     */
+    public Mono<Void> insertIfAbsent(Label label) {
+        return databaseClient.sql("INSERT INTO label (code, description) VALUES (:code, :description) ON CONFLICT DO NOTHING")
+                .bind("code", label.getCode())
+                .bind("description", label.getDescription())
+                .then();
+    }
+
+    /**
+     * @return whether the label exists
+     */
+    public Mono<Boolean> updateDescription(String code, String description) {
+        return databaseClient.sql("UPDATE label SET description = :description WHERE code = :code")
+                .bind("code", code)
+                .bind("description", description)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    /**
+     * @return whether the label existed
+     */
+    public Mono<Boolean> delete(String code) {
+        return databaseClient.sql("DELETE FROM label WHERE code = :code")
+                .bind("code", code)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    /**
+     * As {@link LabelStatsRepository#labelsAdded(Collection)}.
+     */
+    public Mono<Void> labelsAdded(Collection<CaseLabelPair> pairs) {
+        return updateAggregates(pairs, 1);
+    }
+
+    /**
+     * As {@link LabelStatsRepository#labelsRemoved(Collection)}.
+     */
+    public Mono<Void> labelsRemoved(Collection<CaseLabelPair> pairs) {
+        return updateAggregates(pairs, -1);
+    }
+
+    private Mono<Void> updateAggregates(Collection<CaseLabelPair> pairs, int delta) {
+        if (pairs.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("WITH changed AS (SELECT t.case_id, t.label_code, :delta::int AS delta "
+                        + "FROM unnest(:caseIds::varchar[], :labelCodes::varchar[]) AS t (case_id, label_code))"
+                        + LabelStatsRepository.UPDATE_AGGREGATES)
+                .bind("delta", delta)
+                .bind("caseIds", pairs.stream().map(CaseLabelPair::getCaseId).toArray(String[]::new))
+                .bind("labelCodes", pairs.stream().map(CaseLabelPair::getLabelCode).toArray(String[]::new))
+                .then();
+    }
+
+    /**
+     * As {@link LabelStatsRepository#findCaseCounts()}.
+     */
+    public Mono<Map<String, Long>> findCaseCounts() {
+        return databaseClient.sql("SELECT label_code, case_count FROM label_stats")
+                .map(row -> Map.entry(row.get("label_code", String.class), row.get("case_count", Long.class)))
+                .all()
+                .collect(HashMap::new, (caseCounts, entry) -> caseCounts.put(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * As {@link LabelStatsRepository#findCooccurrences(String)}.
+     */
+    public Mono<Map<String, Long>> findCooccurrences(String labelCode) {
+        return databaseClient.sql("SELECT other_code, case_count FROM label_cooccurrence "
+                        + "WHERE label_code = :labelCode AND case_count > 0 ORDER BY case_count DESC, other_code")
+                .bind("labelCode", labelCode)
+                .map(row -> Map.entry(row.get("other_code", String.class), row.get("case_count", Long.class)))
+                .all()
+                .collect(LinkedHashMap::new, (cooccurrences, entry) -> cooccurrences.put(entry.getKey(), entry.getValue()));
+    }
+}
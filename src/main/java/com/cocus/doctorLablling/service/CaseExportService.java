@@ -0,0 +1,21 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.CaseExportFilter;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@Service
+public interface CaseExportService {
+
+    enum Format {
+        NDJSON,
+        CSV
+    }
+
+    /**
+     * Writes the cases matching {@code filter} to {@code out} as they are read, without closing it.
+     */
+    void exportCases(CaseExportFilter filter, Format format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,136 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.CaseExportFilter;
+import com.cocus.doctorLablling.dto.CaseExportRow;
+import com.cocus.doctorLablling.repository.CaseExportRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Full dataset export. Rows are streamed from a database cursor to the output one by one, so that memory does not
+ * depend on the number of cases, and never go through the case caches.
+ */
+@Service
+@Slf4j
+public class CaseExportServiceImpl implements CaseExportService {
+
+    private static final String CSV_HEADER = "case_id,case_description,doctor_id,created_at,first_labelled_at,time_to_label,labels";
+
+    /**
+     * Separates the label codes within the {@code labels} CSV column.
+     */
+    private static final String CSV_LABEL_SEPARATOR = "|";
+
+    @Autowired
+    private CaseExportRepository caseExportRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${cases.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCases(CaseExportFilter filter, Format format, OutputStream out) throws IOException {
+        log.info("Exporting Cases as {} with filter: {}", format, filter);
+        AtomicLong count = new AtomicLong();
+        try {
+            if (format == Format.CSV) {
+                exportCsv(filter, out, count);
+            } else {
+                exportNdjson(filter, out, count);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Exported {} Cases", count.get());
+    }
+
+    private void exportNdjson(CaseExportFilter filter, OutputStream out, AtomicLong count) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(CaseExportRow.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            // Each case ends with its own line break instead of being separated from the next by a space.
+            generator.setRootValueSeparator(null);
+            caseExportRepository.forEachCase(filter, fetchSize, row -> {
+                try {
+                    writer.writeValue(generator, row);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count.incrementAndGet();
+            });
+        }
+    }
+
+    private void exportCsv(CaseExportFilter filter, OutputStream out, AtomicLong count) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        caseExportRepository.forEachCase(filter, fetchSize, row -> {
+            try {
+                writeCsvRow(writer, row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count.incrementAndGet();
+        });
+        writer.flush();
+    }
+
+    private static void writeCsvRow(Writer writer, CaseExportRow row) throws IOException {
+        writer.write(csvField(row.getCaseId()));
+        writer.write(',');
+        writer.write(csvField(row.getCaseDescription()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getDoctorId()));
+        writer.write(',');
+        writer.write(csvField(row.getCreatedAt()));
+        writer.write(',');
+        writer.write(csvField(row.getFirstLabelledAt()));
+        writer.write(',');
+        writer.write(csvField(row.getTimeToLabel()));
+        writer.write(',');
+        writer.write(csvField(String.join(CSV_LABEL_SEPARATOR, row.getLabels())));
+        writer.write("\r\n");
+    }
+
+    private static String csvField(LocalDateTime value) {
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * RFC 4180: fields with a separator, a quote or a line break are quoted, with their quotes doubled.
+     */
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+}
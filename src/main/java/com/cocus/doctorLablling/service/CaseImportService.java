@@ -0,0 +1,13 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.CaseImportResult;
+import com.cocus.doctorLablling.model.Case;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.List;
+
+@Service
+public interface CaseImportService {
+    List<CaseImportResult> importCases(Iterator<Case> cases);
+}
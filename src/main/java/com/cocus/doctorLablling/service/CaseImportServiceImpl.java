@@ -0,0 +1,165 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.config.CacheNames;
+import com.cocus.doctorLablling.dto.CaseImportResult;
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.LabelEvent;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.CaseRepository;
+import com.cocus.doctorLablling.repository.LabelEventRepository;
+import com.cocus.doctorLablling.repository.LabelRepository;
+import com.cocus.doctorLablling.repository.LabelStatsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk case creation. Cases are read lazily and written chunk by chunk, one transaction per chunk, with
+ * plain {@code persist} calls so that Hibernate sends them as JDBC batches.
+ */
+@Service
+@Slf4j
+public class CaseImportServiceImpl implements CaseImportService {
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private LabelEventRepository labelEventRepository;
+
+    @Autowired
+    private LabelStatsRepository labelStatsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${cases.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.CASES_BY_LABEL, allEntries = true)
+    public List<CaseImportResult> importCases(Iterator<Case> cases) {
+        List<CaseImportResult> results = new ArrayList<>();
+        List<Case> chunk = new ArrayList<>(chunkSize);
+        while (cases.hasNext()) {
+            chunk.add(cases.next());
+            if (chunk.size() == chunkSize) {
+                results.addAll(importChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(importChunk(chunk));
+        }
+        log.info("Imported {} Cases", results.stream().filter(result -> result.getStatus() == CaseImportResult.Status.CREATED).count());
+        return results;
+    }
+
+    private List<CaseImportResult> importChunk(List<Case> chunk) {
+        List<CaseImportResult> results = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> results.addAll(persistChunk(chunk)));
+        } catch (PersistenceException | DataAccessException e) {
+            // Typically a case created concurrently with the same id: the whole chunk is rolled back.
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Bulk import of {} Cases failed: {}", chunk.size(), message);
+            results.clear();
+            chunk.forEach(caseObj -> results.add(new CaseImportResult(caseObj.getCaseId(), CaseImportResult.Status.FAILED, message)));
+        }
+        return results;
+    }
+
+    private List<CaseImportResult> persistChunk(List<Case> chunk) {
+        Set<String> caseIds = chunk.stream().map(Case::getCaseId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<String> existingIds = caseIds.isEmpty() ? Set.of() : new HashSet<>(caseRepository.findExistingIds(caseIds));
+        Set<String> labelCodes = chunk.stream()
+                .filter(caseObj -> caseObj.getLabels() != null)
+                .flatMap(caseObj -> caseObj.getLabels().stream())
+                .map(Label::getCode)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Label> knownLabels = labelRepository.findAllById(labelCodes).stream()
+                .collect(Collectors.toMap(Label::getCode, Function.identity()));
+
+        List<CaseImportResult> results = new ArrayList<>(chunk.size());
+        List<CaseLabelPair> created = new ArrayList<>(chunk.size());
+        List<CaseLabelPair> labelled = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Case caseObj : chunk) {
+            String caseId = caseObj.getCaseId();
+            String invalidReason = validate(caseObj, knownLabels);
+            if (invalidReason != null) {
+                results.add(new CaseImportResult(caseId, CaseImportResult.Status.INVALID, invalidReason));
+            } else if (existingIds.contains(caseId) || !seenIds.add(caseId)) {
+                results.add(new CaseImportResult(caseId, CaseImportResult.Status.DUPLICATE, "Case already exists with ID: " + caseId));
+            } else {
+                Map<String, Label> labels = new LinkedHashMap<>();
+                if (caseObj.getLabels() != null) {
+                    caseObj.getLabels().forEach(label -> labels.put(label.getCode(), knownLabels.get(label.getCode())));
+                }
+                caseObj.setLabels(new ArrayList<>(labels.values()));
+                caseObj.setTimeToLabel(now);
+                caseObj.setCreatedAt(now);
+                caseObj.setFirstLabelledAt(labels.isEmpty() ? null : now);
+                entityManager.persist(caseObj);
+                created.add(new CaseLabelPair(caseId, null));
+                labels.keySet().forEach(labelCode -> labelled.add(new CaseLabelPair(caseId, labelCode)));
+                results.add(new CaseImportResult(caseId, CaseImportResult.Status.CREATED, null));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        labelStatsRepository.labelsAdded(labelled);
+        labelEventRepository.appendAll(LabelEvent.Type.CASE_CREATED, created);
+        return results;
+    }
+
+    private static String validate(Case caseObj, Map<String, Label> knownLabels) {
+        if (caseObj.getCaseId() == null || caseObj.getCaseId().isBlank()) {
+            return "Case ID is required";
+        }
+        if (caseObj.getCaseDescription() == null) {
+            return "Case description is required";
+        }
+        if (caseObj.getDoctorId() == null) {
+            return "Doctor ID is required";
+        }
+        if (caseObj.getLabels() != null) {
+            for (Label label : caseObj.getLabels()) {
+                if (label.getCode() == null || !knownLabels.containsKey(label.getCode())) {
+                    return "Unknown label code: " + label.getCode();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.CaseLease;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+public interface CaseQueueService {
+
+    /**
+     * Leases the doctor an unlabelled case: the one they already hold, whose lease is extended, or else the oldest
+     * case nobody holds.
+     *
+     * @return empty if every unlabelled case is leased to other doctors
+     */
+    Optional<CaseLease> leaseNextCase(Long doctorId);
+}
@@ -0,0 +1,48 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.CaseLease;
+import com.cocus.doctorLablling.repository.CaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hands out the unlabelled cases to the doctors, one at a time, so that two doctors never label the same case.
+ * Leases are kept on the case rows: a case goes back to the queue when its lease expires, and leaves it for good once
+ * labelled. Nothing has to release them.
+ */
+@Service
+@Slf4j
+public class CaseQueueServiceImpl implements CaseQueueService {
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Value("${cases.queue.lease-ttl:15m}")
+    private Duration leaseTtl;
+
+    @Override
+    @Transactional
+    public Optional<CaseLease> leaseNextCase(Long doctorId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leasedUntil = now.plus(leaseTtl);
+        List<String> leased = caseRepository.renewLease(doctorId, now, leasedUntil);
+        if (leased.isEmpty()) {
+            leased = caseRepository.leaseNext(doctorId, now, leasedUntil);
+        }
+        if (leased.isEmpty()) {
+            log.debug("No Case left to lease to doctor: {}", doctorId);
+            return Optional.empty();
+        }
+        String caseId = leased.get(0);
+        log.info("Leased Case with ID: {} to doctor: {} until {}", caseId, doctorId, leasedUntil);
+        return caseRepository.findById(caseId).map(leasedCase -> new CaseLease(leasedCase, leasedUntil));
+    }
+}
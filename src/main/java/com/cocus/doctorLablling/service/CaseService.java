@@ -1,25 +1,58 @@
 package com.cocus.doctorLablling.service;
 
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.CaseSummary;
+import com.cocus.doctorLablling.dto.CursorPage;
+import com.cocus.doctorLablling.dto.LabelAssignmentResult;
 import com.cocus.doctorLablling.model.Case;
 import com.cocus.doctorLablling.model.Label;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public interface CaseService {
     Case createCase(Case caseObj);
 
-    Optional<Case> createNewLabelInCase(String caseId, Label label);
+    /**
+     * @param expectedVersion the version of the case the caller last read, or {@code null} to apply the change
+     *                        whatever the current version of the case
+     */
+    Optional<Case> createNewLabelInCase(String caseId, Label label, Long expectedVersion);
+
+    List<LabelAssignmentResult> assignLabels(List<CaseLabelPair> pairs);
 
     List<Case> getAllCases();
 
+    CursorPage<Case> getCasesPage(String after, int size);
+
+    CursorPage<CaseSummary> getCaseSummariesPage(String after, int size);
+
+    void streamAllCases(Consumer<Case> consumer);
+
     Optional<Case> getCaseById(String caseId);
 
     List<Case> getCasesByLabelCode(String labelCode);
 
-    boolean deleteLabelInCase(String caseId, String labelCode);
+    CursorPage<Case> getCasesPageByLabelCode(String labelCode, String after, int size);
+
+    /**
+     * @return a page of the cases of the doctor, least recently labelled first
+     * @throws com.cocus.doctorLablling.exception.BadRequestException if {@code after} is not a cursor of this listing
+     */
+    CursorPage<Case> getCasesPageByDoctorId(Long doctorId, String after, int size);
+
+    /**
+     * @return a page of the cases whose description matches {@code query}, best matches first, narrowed down to a
+     * doctor and a label when they are not {@code null}
+     * @throws com.cocus.doctorLablling.exception.BadRequestException if {@code query} is blank or {@code after} is not
+     *                                                               a cursor of this search
+     */
+    CursorPage<Case> searchCases(String query, Long doctorId, String labelCode, String after, int size);
+
+    boolean deleteLabelInCase(String caseId, String labelCode, Long expectedVersion);
 
-    Optional<Case> updateCase(String caseId, Case caseObj);
+    Optional<Case> updateCase(String caseId, Case caseObj, Long expectedVersion);
 }
\ No newline at end of file
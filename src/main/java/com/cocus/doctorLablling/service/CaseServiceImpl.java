@@ -1,16 +1,57 @@
 package com.cocus.doctorLablling.service;
 
+import com.cocus.doctorLablling.config.CacheNames;
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.CaseLabellingTimes;
+import com.cocus.doctorLablling.dto.CaseSearchHit;
+import com.cocus.doctorLablling.dto.CaseSummary;
+import com.cocus.doctorLablling.dto.CursorPage;
+import com.cocus.doctorLablling.dto.DoctorCaseCursor;
+import com.cocus.doctorLablling.dto.DoctorCaseKey;
+import com.cocus.doctorLablling.dto.LabelAssignmentResult;
+import com.cocus.doctorLablling.dto.LabelEvent;
+import com.cocus.doctorLablling.exception.BadRequestException;
+import com.cocus.doctorLablling.exception.PreconditionFailedException;
 import com.cocus.doctorLablling.model.Case;
 import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.CaseLabelRepository;
 import com.cocus.doctorLablling.repository.CaseRepository;
+import com.cocus.doctorLablling.repository.CaseSearchRepository;
+import com.cocus.doctorLablling.repository.LabelEventRepository;
+import com.cocus.doctorLablling.repository.LabelRepository;
+import com.cocus.doctorLablling.repository.LabelStatsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -19,80 +60,437 @@ public class CaseServiceImpl implements CaseService{
     @Autowired
     private CaseRepository caseRepository;
 
+    @Autowired
+    private CaseLabelRepository caseLabelRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private LabelEventRepository labelEventRepository;
+
+    @Autowired
+    private CaseSearchRepository caseSearchRepository;
+
+    @Autowired
+    private LabelStatsRepository labelStatsRepository;
+
+    @Autowired
+    private LabelCatalogue labelCatalogue;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private LabellingMetrics labellingMetrics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${cases.page.max-size:1000}")
+    private int maxPageSize;
+
+    @Value("${cases.stream.batch-size:500}")
+    private int streamBatchSize;
+
     @Override
-    @Cacheable(cacheNames = "cases")
+    @Caching(put = @CachePut(cacheNames = CacheNames.CASE, key = "#result.caseId"),
+            evict = @CacheEvict(cacheNames = CacheNames.CASES_BY_LABEL, allEntries = true))
+    @Transactional
     public Case createCase(Case caseObj) {
-        log.info("Creating a new Case: {}", caseObj);
-        caseObj.setTimeToLabel(LocalDateTime.now());
-        Case createdCase =caseRepository.save(caseObj);
-        log.info("Created Case: {}", createdCase);
+        log.info("Creating a new Case with ID: {}", caseObj.getCaseId());
+        LocalDateTime now = LocalDateTime.now();
+        caseObj.setTimeToLabel(now);
+        caseObj.setCreatedAt(now);
+        if (caseObj.getLabels() != null && !caseObj.getLabels().isEmpty()) {
+            caseObj.setFirstLabelledAt(now);
+        }
+        Optional<Case> existingCase = caseRepository.findById(caseObj.getCaseId());
+        // A case created again with the same id replaces all its labels: they are counted out while still there.
+        labelStatsRepository.labelsRemoved(existingCase.map(Case::getLabels).orElse(List.of()).stream()
+                .map(label -> new CaseLabelPair(caseObj.getCaseId(), label.getCode()))
+                .toList());
+        // Flushed so that the label statistics below see its labels.
+        Case createdCase = caseRepository.saveAndFlush(existingCase
+                .map(aCase -> overwrite(aCase, caseObj))
+                .orElse(caseObj));
+        if (createdCase.getLabels() != null) {
+            labelStatsRepository.labelsAdded(createdCase.getLabels().stream()
+                    .map(label -> new CaseLabelPair(createdCase.getCaseId(), label.getCode()))
+                    .toList());
+            registerWrittenLabels(createdCase.getLabels());
+        }
+        labelEventRepository.append(LabelEvent.Type.CASE_CREATED, createdCase.getCaseId(), null);
+        log.info("Created Case with ID: {}", createdCase.getCaseId());
         return createdCase;
     }
 
+    /**
+     * Adding a label commutes with any other write to the case, so a transaction that lost a lock race (deadlock,
+     * lock timeout) is simply run again. With an {@code expectedVersion} the version is checked and incremented first,
+     * so that the row lock orders concurrent writers of the case and a retry sees the version they left.
+     * The cached case is evicted rather than replaced: the case read back may already be behind a concurrent writer.
+     */
     @Override
-    @Cacheable(cacheNames = "cases")
-    public Optional<Case> createNewLabelInCase(String caseId, Label label) {
-        Optional<Case> optionalCase = caseRepository.findById(caseId);
-        if (optionalCase.isPresent()) {
-            Case caseObj = optionalCase.get();
-            caseObj.getLabels().add(label);
-            caseObj.setTimeToLabel(LocalDateTime.now());
-            Case updatedCase = caseRepository.save(caseObj);
-            return Optional.of(updatedCase);
-        } else {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.CASE, key = "#caseId"),
+            @CacheEvict(cacheNames = CacheNames.CASES_BY_LABEL, allEntries = true)
+    })
+    @Retryable(retryFor = ConcurrencyFailureException.class, maxAttemptsExpression = "${cases.labels.retry.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${cases.labels.retry.delay-ms:10}", multiplier = 2, random = true))
+    @Transactional
+    public Optional<Case> createNewLabelInCase(String caseId, Label label, Long expectedVersion) {
+        if (!caseRepository.existsById(caseId)) {
             return Optional.empty();
         }
+        List<CaseLabellingTimes> labelled = List.of();
+        if (expectedVersion != null) {
+            labelled = caseRepository.updateTimeToLabel(caseId, LocalDateTime.now(), expectedVersion);
+            if (labelled.isEmpty()) {
+                throw preconditionFailed(caseId, expectedVersion);
+            }
+        }
+        if (!labelCatalogue.contains(label.getCode())) {
+            // Flushed so that the join table row below can reference it.
+            Label savedLabel = labelRepository.saveAndFlush(label);
+            afterCommit(() -> labelCatalogue.put(savedLabel));
+        }
+        // One row in the join table, however many labels the case already has.
+        if (caseLabelRepository.insert(caseId, label.getCode())) {
+            labelEventRepository.append(LabelEvent.Type.LABEL_ADDED, caseId, label.getCode());
+            if (expectedVersion == null) {
+                labelled = caseRepository.updateTimeToLabel(List.of(caseId), LocalDateTime.now());
+            }
+            // Now that the case is locked, see LabelStatsRepository.
+            labelStatsRepository.labelsAdded(List.of(new CaseLabelPair(caseId, label.getCode())));
+            List<CaseLabellingTimes> labelledCase = labelled;
+            afterCommit(() -> {
+                labellingMetrics.labelled(labelledCase);
+                labellingMetrics.labelApplied(label.getCode());
+            });
+        }
+        return caseRepository.findById(caseId);
+    }
+
+    /**
+     * Applies all pairs in one transaction: one query to check the cases exist, one insert for every valid pair and one
+     * update of the labelled cases, whatever the number of pairs. Labels are checked against the catalogue.
+     * Retried as {@link #createNewLabelInCase(String, Label, Long)}: two batches sharing cases may deadlock.
+     */
+    @Override
+    @Retryable(retryFor = ConcurrencyFailureException.class, maxAttemptsExpression = "${cases.labels.retry.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${cases.labels.retry.delay-ms:10}", multiplier = 2, random = true))
+    @Transactional
+    @CacheEvict(cacheNames = CacheNames.CASES_BY_LABEL, allEntries = true)
+    public List<LabelAssignmentResult> assignLabels(List<CaseLabelPair> pairs) {
+        log.info("Assigning {} labels to Cases", pairs.size());
+        Set<String> existingCaseIds = new HashSet<>(caseRepository.findExistingIds(
+                pairs.stream().map(CaseLabelPair::getCaseId).distinct().toList()));
+        Map<String, Label> labels = labelCatalogue.getSnapshot().labelsByCode();
+
+        Set<CaseLabelPair> validPairs = new LinkedHashSet<>();
+        for (CaseLabelPair pair : pairs) {
+            if (existingCaseIds.contains(pair.getCaseId()) && labels.containsKey(pair.getLabelCode())) {
+                validPairs.add(pair);
+            }
+        }
+        Set<CaseLabelPair> inserted = new HashSet<>(caseLabelRepository.insertAll(validPairs));
+        int insertedCount = inserted.size();
+        Set<String> labelledCaseIds = new LinkedHashSet<>();
+        inserted.forEach(pair -> labelledCaseIds.add(pair.getCaseId()));
+        if (!labelledCaseIds.isEmpty()) {
+            labelEventRepository.appendAll(LabelEvent.Type.LABEL_ADDED, inserted);
+            List<CaseLabellingTimes> labelled = caseRepository.updateTimeToLabel(labelledCaseIds, LocalDateTime.now());
+            labelStatsRepository.labelsAdded(inserted);
+            List<String> labelCodes = inserted.stream().map(CaseLabelPair::getLabelCode).toList();
+            afterCommit(() -> {
+                labellingMetrics.labelled(labelled);
+                labelCodes.forEach(labellingMetrics::labelApplied);
+            });
+            Cache caseCache = cacheManager.getCache(CacheNames.CASE);
+            if (caseCache != null) {
+                labelledCaseIds.forEach(caseCache::evict);
+            }
+        }
+
+        List<LabelAssignmentResult> results = new ArrayList<>(pairs.size());
+        for (CaseLabelPair pair : pairs) {
+            LabelAssignmentResult.Status status;
+            if (!existingCaseIds.contains(pair.getCaseId())) {
+                status = LabelAssignmentResult.Status.UNKNOWN_CASE;
+            } else if (!labels.containsKey(pair.getLabelCode())) {
+                status = LabelAssignmentResult.Status.UNKNOWN_LABEL;
+            } else if (inserted.remove(pair)) {
+                status = LabelAssignmentResult.Status.APPLIED;
+            } else {
+                status = LabelAssignmentResult.Status.ALREADY_PRESENT;
+            }
+            results.add(new LabelAssignmentResult(pair.getCaseId(), pair.getLabelCode(), status));
+        }
+        log.info("Assigned {} of {} labels to {} Cases", insertedCount, pairs.size(), labelledCaseIds.size());
+        return results;
     }
 
     @Override
-    @Cacheable(cacheNames = "cases")
     public List<Case> getAllCases() {
-        log.info("Retrieving all Cases");
+        log.debug("Retrieving all Cases");
         return caseRepository.findAll();
     }
 
     @Override
-    @Cacheable(cacheNames = "cases")
+    public CursorPage<Case> getCasesPage(String after, int size) {
+        int pageSize = clampPageSize(size);
+        log.debug("Retrieving {} Cases after ID: {}", pageSize, after);
+        List<Case> cases = findPageWithLabels(after == null ? "" : after, pageSize);
+        String nextCursor = cases.size() == pageSize ? cases.get(cases.size() - 1).getCaseId() : null;
+        return new CursorPage<>(cases, nextCursor);
+    }
+
+    @Override
+    public CursorPage<CaseSummary> getCaseSummariesPage(String after, int size) {
+        int pageSize = clampPageSize(size);
+        log.debug("Retrieving {} Case summaries after ID: {}", pageSize, after);
+        List<CaseSummary> summaries = caseRepository.findSummariesAfter(after == null ? "" : after, PageRequest.of(0, pageSize));
+        String nextCursor = summaries.size() == pageSize ? summaries.get(summaries.size() - 1).getCaseId() : null;
+        return new CursorPage<>(summaries, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCases(Consumer<Case> consumer) {
+        log.info("Streaming all Cases");
+        String after = "";
+        List<Case> batch;
+        do {
+            batch = findPageWithLabels(after, streamBatchSize);
+            batch.forEach(consumer);
+            if (!batch.isEmpty()) {
+                after = batch.get(batch.size() - 1).getCaseId();
+            }
+            // Keep the persistence context from growing with the result set.
+            entityManager.clear();
+        } while (batch.size() == streamBatchSize);
+    }
+
+    /**
+     * Two round trips per page whatever its size: the keyset query on ids, then one query for those cases and their labels.
+     */
+    private List<Case> findPageWithLabels(String after, int pageSize) {
+        return findWithLabels(caseRepository.findIdsAfter(after, PageRequest.of(0, pageSize)));
+    }
+
+    private List<Case> findWithLabels(List<String> caseIds) {
+        if (caseIds.isEmpty()) {
+            return List.of();
+        }
+        return caseRepository.findWithLabelsByCaseIdIn(caseIds);
+    }
+
+    /**
+     * The caller holds an older version than the case. The cached case may be just as old, it is dropped right away
+     * so that the caller reads the current version on its next attempt.
+     */
+    private PreconditionFailedException preconditionFailed(String caseId, long expectedVersion) {
+        Cache caseCache = cacheManager.getCache(CacheNames.CASE);
+        if (caseCache != null) {
+            caseCache.evictIfPresent(caseId);
+        }
+        return new PreconditionFailedException("Case " + caseId + " is no longer at version " + expectedVersion);
+    }
+
+    /**
+     * Copies the fields of {@code caseObj} onto the case with the same id. A client creating a case sends no version,
+     * and merging it as is would fail the version check of any case written since it was created: the case is
+     * overwritten whatever its version, as by {@code ReactiveCaseRepository.upsert}, and when it was created and first
+     * labelled are kept.
+     */
+    private static Case overwrite(Case existingCase, Case caseObj) {
+        existingCase.setCaseDescription(caseObj.getCaseDescription());
+        existingCase.setDoctorId(caseObj.getDoctorId());
+        existingCase.setTimeToLabel(caseObj.getTimeToLabel());
+        existingCase.setLabels(caseObj.getLabels() == null ? new ArrayList<>() : caseObj.getLabels());
+        return existingCase;
+    }
+
+    /**
+     * The labels of a case are created or overwritten with it: once committed, the catalogue gets those it does not
+     * have as written, and the cached cases that may carry an overwritten description are evicted, as by
+     * {@link LabelServiceImpl#updateLabel(String, Label)}.
+     */
+    private void registerWrittenLabels(List<Label> labels) {
+        List<Label> writtenLabels = labels.stream()
+                .filter(label -> labelCatalogue.find(label.getCode())
+                        .map(known -> !known.getDescription().equals(label.getDescription()))
+                        .orElse(true))
+                .toList();
+        if (writtenLabels.isEmpty()) {
+            return;
+        }
+        boolean overwritten = writtenLabels.stream().anyMatch(label -> labelCatalogue.contains(label.getCode()));
+        afterCommit(() -> {
+            labelCatalogue.putAll(writtenLabels);
+            Cache caseCache = cacheManager.getCache(CacheNames.CASE);
+            if (overwritten && caseCache != null) {
+                caseCache.clear();
+            }
+        });
+    }
+
+    /**
+     * Runs {@code action} once the current transaction has committed, so that in-memory state never gets ahead of the
+     * database when the transaction is rolled back or retried.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheNames.CASE, key = "#caseId", unless = "#result == null")
     public Optional<Case> getCaseById(String caseId) {
-        log.info("Retrieving Case with ID: {}", caseId);
+        log.debug("Retrieving Case with ID: {}", caseId);
         return caseRepository.findById(caseId);
     }
 
     @Override
-    @Cacheable(cacheNames = "cases")
+    @Cacheable(cacheNames = CacheNames.CASES_BY_LABEL, key = "#labelCode")
     public List<Case> getCasesByLabelCode(String labelCode) {
-        log.info("Retrieving Case with label Code: {}", labelCode);
-        return caseRepository.findByLabelCode(labelCode);
+        log.debug("Retrieving Case with label Code: {}", labelCode);
+        return findWithLabels(caseRepository.findCaseIdsByLabelCode(labelCode));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheNames.CASES_BY_LABEL, key = "{#labelCode, #after, #size}")
+    public CursorPage<Case> getCasesPageByLabelCode(String labelCode, String after, int size) {
+        int pageSize = clampPageSize(size);
+        log.debug("Retrieving {} Cases with label Code: {} after ID: {}", pageSize, labelCode, after);
+        List<Case> cases = findWithLabels(
+                caseRepository.findCaseIdsByLabelCodeAfter(labelCode, after == null ? "" : after, pageSize));
+        String nextCursor = cases.size() == pageSize ? cases.get(cases.size() - 1).getCaseId() : null;
+        return new CursorPage<>(cases, nextCursor);
     }
 
     @Override
-    @Cacheable(cacheNames = "cases")
-    public boolean deleteLabelInCase(String caseId, String labelCode) {
-        Optional<Case> optionalCase = caseRepository.findById(caseId);
-        if (optionalCase.isPresent()) {
-            Case caseObj = optionalCase.get();
+    public CursorPage<Case> getCasesPageByDoctorId(Long doctorId, String after, int size) {
+        int pageSize = clampPageSize(size);
+        DoctorCaseCursor cursor = parseDoctorCaseCursor(after);
+        log.debug("Retrieving {} Cases of doctor: {} after: {}", pageSize, doctorId, cursor);
+        List<DoctorCaseKey> keys = cursor == null
+                ? caseRepository.findKeysByDoctorId(doctorId, pageSize)
+                : caseRepository.findKeysByDoctorIdAfter(doctorId, cursor.timeToLabel(), cursor.caseId(), pageSize);
+        // The cursor is the key read from the index, even if the case was labelled again since.
+        List<Case> cases = findWithLabelsInOrder(keys.stream().map(DoctorCaseKey::getCaseId).toList());
+        DoctorCaseKey last = keys.size() == pageSize ? keys.get(keys.size() - 1) : null;
+        String nextCursor = last == null ? null : new DoctorCaseCursor(last.getTimeToLabel(), last.getCaseId()).toString();
+        return new CursorPage<>(cases, nextCursor);
+    }
 
-            List<Label> labels = caseObj.getLabels();
-            labels.removeIf(label -> label.getCode().equals(labelCode));
+    @Override
+    public CursorPage<Case> searchCases(String query, Long doctorId, String labelCode, String after, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("The search query must not be empty");
+        }
+        int pageSize = clampPageSize(size);
+        CaseSearchHit cursor = parseSearchCursor(after);
+        log.debug("Searching {} Cases of doctor: {} with label Code: {} after: {}", pageSize, doctorId, labelCode, cursor);
+        List<CaseSearchHit> hits = caseSearchRepository.search(query, doctorId, labelCode, cursor, pageSize);
+        List<Case> cases = findWithLabelsInOrder(hits.stream().map(CaseSearchHit::caseId).toList());
+        String nextCursor = hits.size() == pageSize ? hits.get(hits.size() - 1).toString() : null;
+        return new CursorPage<>(cases, nextCursor);
+    }
 
-            caseRepository.save(caseObj);
-            return true;
-        } else {
+    /**
+     * {@link #findWithLabels(List)}, in the order of {@code caseIds}.
+     */
+    private List<Case> findWithLabelsInOrder(List<String> caseIds) {
+        Map<String, Case> casesById = findWithLabels(caseIds).stream()
+                .collect(Collectors.toMap(Case::getCaseId, Function.identity()));
+        return caseIds.stream().map(casesById::get).filter(Objects::nonNull).toList();
+    }
+
+    private static CaseSearchHit parseSearchCursor(String after) {
+        if (after == null || after.isEmpty()) {
+            return null;
+        }
+        try {
+            return CaseSearchHit.parse(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    private static DoctorCaseCursor parseDoctorCaseCursor(String after) {
+        if (after == null || after.isEmpty()) {
+            return null;
+        }
+        try {
+            return DoctorCaseCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.CASE, key = "#caseId"),
+            @CacheEvict(cacheNames = CacheNames.CASES_BY_LABEL, allEntries = true)
+    })
+    @Transactional
+    public boolean deleteLabelInCase(String caseId, String labelCode, Long expectedVersion) {
+        if (!caseRepository.existsById(caseId)) {
             return false;
         }
+        boolean deleted;
+        if (expectedVersion != null) {
+            if (caseRepository.incrementVersion(caseId, expectedVersion) == 0) {
+                throw preconditionFailed(caseId, expectedVersion);
+            }
+            deleted = caseLabelRepository.delete(caseId, labelCode);
+        } else {
+            deleted = caseLabelRepository.delete(caseId, labelCode);
+            if (deleted) {
+                caseRepository.incrementVersion(caseId);
+            }
+        }
+        if (deleted) {
+            labelStatsRepository.labelsRemoved(List.of(new CaseLabelPair(caseId, labelCode)));
+            labelEventRepository.append(LabelEvent.Type.LABEL_REMOVED, caseId, labelCode);
+        }
+        return true;
     }
 
     @Override
-    @Cacheable(cacheNames = "cases")
-    public Optional<Case> updateCase(String caseId, Case caseObj) {
-        log.info("Updating Casewith ID: {}", caseId);
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.CASE, key = "#caseId"),
+            @CacheEvict(cacheNames = CacheNames.CASES_BY_LABEL, allEntries = true)
+    })
+    @Transactional
+    public Optional<Case> updateCase(String caseId, Case caseObj, Long expectedVersion) {
+        log.info("Updating Case with ID: {}", caseId);
         Optional<Case> existingCase = caseRepository.findById(caseId);
         if (existingCase.isPresent()) {
             Case aCase = existingCase.get();
+            if (expectedVersion != null && aCase.getVersion() != expectedVersion) {
+                throw preconditionFailed(caseId, expectedVersion);
+            }
             aCase.setCaseDescription(caseObj.getCaseDescription());
             aCase.setDoctorId(caseObj.getDoctorId());
-            Case updatedCase = caseRepository.save(aCase);
-            log.info("Updated Case: {}", updatedCase);
+            // Flushed so that the version returned is the one written.
+            Case updatedCase = caseRepository.saveAndFlush(aCase);
+            labelEventRepository.append(LabelEvent.Type.CASE_UPDATED, caseId, null);
+            log.info("Updated Case with ID: {} to version {}", caseId, updatedCase.getVersion());
             return Optional.of(updatedCase);
         } else {
             return Optional.empty();
@@ -0,0 +1,13 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.ChangePage;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface ChangeFeedService {
+
+    /**
+     * @param since the {@code nextCursor} of the previous page, or {@code null} to start from the first event
+     */
+    ChangePage getChanges(String since, int limit);
+}
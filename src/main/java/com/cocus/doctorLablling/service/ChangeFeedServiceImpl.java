@@ -0,0 +1,54 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.ChangeCursor;
+import com.cocus.doctorLablling.dto.ChangePage;
+import com.cocus.doctorLablling.dto.LabelEvent;
+import com.cocus.doctorLablling.exception.BadRequestException;
+import com.cocus.doctorLablling.repository.LabelEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Incremental sync of the cases: consumers poll with the cursor of their last page and re-read the cases listed,
+ * instead of reading every case again. See {@link LabelEventRepository} for why cursors never skip an event.
+ */
+@Service
+@Slf4j
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    @Autowired
+    private LabelEventRepository labelEventRepository;
+
+    @Value("${changes.max-limit:1000}")
+    private int maxLimit;
+
+    @Override
+    public ChangePage getChanges(String since, int limit) {
+        ChangeCursor cursor = parseCursor(since);
+        int pageSize = Math.max(1, Math.min(limit, maxLimit));
+        log.debug("Retrieving {} changes since: {}", pageSize, cursor);
+        // One more event than asked for tells whether another page is already available.
+        List<LabelEvent> events = labelEventRepository.findAfter(cursor, pageSize + 1);
+        boolean hasMore = events.size() > pageSize;
+        if (hasMore) {
+            events = events.subList(0, pageSize);
+        }
+        String nextCursor = events.isEmpty() ? cursor.toString() : events.get(events.size() - 1).getCursor();
+        return new ChangePage(events, nextCursor, hasMore);
+    }
+
+    private static ChangeCursor parseCursor(String since) {
+        if (since == null || since.isEmpty()) {
+            return ChangeCursor.START;
+        }
+        try {
+            return ChangeCursor.parse(since);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+}
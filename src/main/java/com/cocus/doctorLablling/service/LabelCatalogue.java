@@ -0,0 +1,157 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.LabelCount;
+import com.cocus.doctorLablling.dto.LabelsJson;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.LabelRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory copy of the label catalogue.
+ * <p>
+ * The catalogue is held in an immutable {@link Snapshot} that readers get without locking. Every write builds a new
+ * snapshot from the previous one and swaps it atomically, so a reader always sees either the old or the new catalogue,
+ * never a partly updated one. The labels of a snapshot are shared and must not be modified.
+ */
+@Component
+@Slf4j
+public class LabelCatalogue {
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Immutable view of the catalogue: the labels by code, sorted by code, the same list already serialized as JSON
+     * and a prefix index over it.
+     */
+    public record Snapshot(Map<String, Label> labelsByCode, List<Label> labels, LabelsJson json, LabelSearchIndex searchIndex) {
+    }
+
+    @PostConstruct
+    public void reload() {
+        List<Label> labels = labelRepository.findAll();
+        snapshot.set(buildSnapshot(labels));
+        log.info("Loaded {} Labels into the catalogue", labels.size());
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    public Optional<Label> find(String code) {
+        return Optional.ofNullable(snapshot.get().labelsByCode().get(code));
+    }
+
+    public boolean contains(String code) {
+        return snapshot.get().labelsByCode().containsKey(code);
+    }
+
+    public List<Label> findAll() {
+        return snapshot.get().labels();
+    }
+
+    /**
+     * The whole catalogue as a JSON array, serialized and hashed once per write instead of once per read.
+     */
+    public LabelsJson findAllAsJson() {
+        return snapshot.get().json();
+    }
+
+    /**
+     * @see LabelSearchIndex#search(String, int)
+     */
+    public List<Label> search(String prefix, int limit) {
+        return snapshot.get().searchIndex().search(prefix, limit);
+    }
+
+    /**
+     * @return every label of the catalogue with its count in {@code caseCounts}, 0 if it has none, sorted by code
+     */
+    public List<LabelCount> withCaseCounts(Map<String, Long> caseCounts) {
+        List<Label> labels = snapshot.get().labels();
+        List<LabelCount> counts = new ArrayList<>(labels.size());
+        for (Label label : labels) {
+            counts.add(new LabelCount(label.getCode(), label.getDescription(), caseCounts.getOrDefault(label.getCode(), 0L)));
+        }
+        return counts;
+    }
+
+    /**
+     * @return the labels counted in {@code caseCounts} that are still in the catalogue, in the order of the map
+     */
+    public List<LabelCount> describe(Map<String, Long> caseCounts) {
+        Map<String, Label> labelsByCode = snapshot.get().labelsByCode();
+        List<LabelCount> counts = new ArrayList<>(caseCounts.size());
+        caseCounts.forEach((code, caseCount) -> {
+            Label label = labelsByCode.get(code);
+            if (label != null) {
+                counts.add(new LabelCount(code, label.getDescription(), caseCount));
+            }
+        });
+        return counts;
+    }
+
+    public void put(Label label) {
+        Label copy = new Label(label.getCode(), label.getDescription());
+        update(labels -> {
+            labels.put(copy.getCode(), copy);
+            return labels;
+        });
+    }
+
+    /**
+     * Puts all the labels in a single new snapshot.
+     */
+    public void putAll(Collection<Label> labels) {
+        List<Label> copies = labels.stream().map(label -> new Label(label.getCode(), label.getDescription())).toList();
+        update(current -> {
+            copies.forEach(copy -> current.put(copy.getCode(), copy));
+            return current;
+        });
+    }
+
+    public void remove(String code) {
+        update(labels -> {
+            labels.remove(code);
+            return labels;
+        });
+    }
+
+    private void update(UnaryOperator<Map<String, Label>> change) {
+        snapshot.updateAndGet(current ->
+                buildSnapshot(change.apply(new LinkedHashMap<>(current.labelsByCode())).values()));
+    }
+
+    private Snapshot buildSnapshot(Collection<Label> labels) {
+        List<Label> sorted = labels.stream().sorted(Comparator.comparing(Label::getCode)).toList();
+        Map<String, Label> byCode = new LinkedHashMap<>();
+        sorted.forEach(label -> byCode.put(label.getCode(), label));
+        try {
+            return new Snapshot(Map.copyOf(byCode), sorted, LabelsJson.of(objectMapper.writeValueAsBytes(sorted)),
+                    new LabelSearchIndex(sorted));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
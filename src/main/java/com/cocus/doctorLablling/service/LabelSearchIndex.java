@@ -0,0 +1,161 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.model.Label;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index over a list of labels, for type-ahead search.
+ * <p>
+ * Label codes and the words of label descriptions are lower-cased and kept in sorted arrays, so that the keys
+ * starting with a prefix form one contiguous range found with a binary search. A search only walks a range until it
+ * has enough labels, which keeps its cost bound by the limit rather than by the size of the catalogue.
+ */
+public class LabelSearchIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final List<Label> labels;
+
+    /** Description words of each label, by label index. */
+    private final String[][] labelWords;
+
+    private final PrefixIndex codes;
+
+    private final PrefixIndex words;
+
+    public LabelSearchIndex(List<Label> labels) {
+        this.labels = labels;
+        this.labelWords = new String[labels.size()][];
+        List<Entry> codeEntries = new ArrayList<>(labels.size());
+        List<Entry> wordEntries = new ArrayList<>();
+        for (int i = 0; i < labels.size(); i++) {
+            Label label = labels.get(i);
+            codeEntries.add(new Entry(normalize(label.getCode()), i));
+            labelWords[i] = tokenize(label.getDescription());
+            for (String word : labelWords[i]) {
+                wordEntries.add(new Entry(word, i));
+            }
+        }
+        this.codes = new PrefixIndex(codeEntries);
+        this.words = new PrefixIndex(wordEntries);
+    }
+
+    /**
+     * Labels whose code starts with {@code prefix}, then labels having, for each word of {@code prefix}, a description
+     * word starting with it. Case is ignored and at most {@code limit} labels are returned, sorted by the matching code
+     * or description word.
+     */
+    public List<Label> search(String prefix, int limit) {
+        String normalized = normalize(prefix).trim();
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<Integer> matches = new LinkedHashSet<>();
+
+        int[] codeRange = codes.range(normalized);
+        for (int i = codeRange[0]; i < codeRange[1] && matches.size() < limit; i++) {
+            matches.add(codes.labelIndexes[i]);
+        }
+
+        String[] queryWords = tokenize(normalized);
+        if (matches.size() < limit && queryWords.length > 0) {
+            // Walk the narrowest word range and check the other words on each candidate label.
+            int[] wordRange = null;
+            String driver = null;
+            for (String word : queryWords) {
+                int[] range = words.range(word);
+                if (wordRange == null || range[1] - range[0] < wordRange[1] - wordRange[0]) {
+                    wordRange = range;
+                    driver = word;
+                }
+            }
+            for (int i = wordRange[0]; i < wordRange[1] && matches.size() < limit; i++) {
+                int labelIndex = words.labelIndexes[i];
+                if (!matches.contains(labelIndex) && hasAllWords(labelIndex, queryWords, driver)) {
+                    matches.add(labelIndex);
+                }
+            }
+        }
+
+        List<Label> result = new ArrayList<>(matches.size());
+        matches.forEach(labelIndex -> result.add(labels.get(labelIndex)));
+        return result;
+    }
+
+    private boolean hasAllWords(int labelIndex, String[] queryWords, String matchedWord) {
+        for (String queryWord : queryWords) {
+            if (queryWord.equals(matchedWord)) {
+                continue;
+            }
+            boolean found = false;
+            for (String word : labelWords[labelIndex]) {
+                if (word.startsWith(queryWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] tokenize(String value) {
+        return Arrays.stream(WORD_SEPARATOR.split(normalize(value)))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private record Entry(String key, int labelIndex) {
+    }
+
+    private static final class PrefixIndex {
+        private final String[] keys;
+
+        private final int[] labelIndexes;
+
+        PrefixIndex(List<Entry> entries) {
+            // Stable sort: entries sharing a key stay in label order.
+            entries.sort(Comparator.comparing(Entry::key));
+            keys = new String[entries.size()];
+            labelIndexes = new int[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                keys[i] = entries.get(i).key();
+                labelIndexes[i] = entries.get(i).labelIndex();
+            }
+        }
+
+        /** Start (inclusive) and end (exclusive) of the keys starting with {@code prefix}. */
+        int[] range(String prefix) {
+            return new int[]{lowerBound(prefix), lowerBound(prefix + Character.MAX_VALUE)};
+        }
+
+        /** Index of the first key not sorting before {@code key}. */
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
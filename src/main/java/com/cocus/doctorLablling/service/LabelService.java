@@ -1,5 +1,7 @@
 package com.cocus.doctorLablling.service;
 
+import com.cocus.doctorLablling.dto.LabelCount;
+import com.cocus.doctorLablling.dto.LabelsJson;
 import com.cocus.doctorLablling.model.Label;
 import org.springframework.stereotype.Service;
 
@@ -18,4 +20,19 @@ public interface LabelService {
     boolean deleteLabel(String code);
 
     List<Label> getAllLabels();
+
+    LabelsJson getAllLabelsAsJson();
+
+    List<Label> searchLabels(String prefix, int limit);
+
+    /**
+     * @return every label with the number of cases that have it
+     */
+    List<LabelCount> getLabelStats();
+
+    /**
+     * @return the labels sharing cases with the label, with the number of cases shared, most shared first; empty if
+     * the label does not exist
+     */
+    Optional<List<LabelCount>> getCooccurrences(String code);
 }
\ No newline at end of file
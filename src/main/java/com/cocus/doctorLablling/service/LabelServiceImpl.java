@@ -1,10 +1,16 @@
 package com.cocus.doctorLablling.service;
 
+import com.cocus.doctorLablling.config.CacheNames;
+import com.cocus.doctorLablling.dto.LabelCount;
+import com.cocus.doctorLablling.dto.LabelsJson;
 import com.cocus.doctorLablling.model.Label;
 import com.cocus.doctorLablling.repository.LabelRepository;
+import com.cocus.doctorLablling.repository.LabelStatsRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,24 +22,38 @@ public class LabelServiceImpl implements LabelService {
     @Autowired
     private LabelRepository labelRepository;
 
+    @Autowired
+    private LabelStatsRepository labelStatsRepository;
+
+    @Autowired
+    private LabelCatalogue labelCatalogue;
+
+    @Value("${labels.search.max-limit:100}")
+    private int maxSearchLimit;
+
     @Override
-    @Cacheable(cacheNames = "labels")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.CASE, allEntries = true),
+            @CacheEvict(cacheNames = CacheNames.CASES_BY_LABEL, allEntries = true)
+    })
     public Label createLabel(Label label) {
-        log.info("Creating a new Label: {}", label);
+        log.info("Creating a new Label with code: {}", label.getCode());
         Label createdLabel =labelRepository.save(label);
-        log.info("Created Label: {}", createdLabel);
+        labelCatalogue.put(createdLabel);
+        log.info("Created Label with code: {}", createdLabel.getCode());
         return createdLabel;
     }
 
     @Override
-    @Cacheable(cacheNames = "labels")
     public Optional<Label> getLabelById(String code) {
-        log.info("Retrieving Label with Label Code: {}", code);
-        return labelRepository.findById(code);
+        return labelCatalogue.find(code);
     }
 
     @Override
-    @Cacheable(cacheNames = "labels")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.CASE, allEntries = true),
+            @CacheEvict(cacheNames = CacheNames.CASES_BY_LABEL, allEntries = true)
+    })
     public Optional<Label> updateLabel(String code, Label label) {
         log.info("Updating Label with ID: {}", code);
 
@@ -42,7 +62,8 @@ public class LabelServiceImpl implements LabelService {
             Label labelObj = existingLabel.get();
             labelObj.setDescription(label.getDescription());
             Label updatedLabelEntity =labelRepository.save(labelObj);
-            log.info("Updated Label: {}", updatedLabelEntity);
+            labelCatalogue.put(updatedLabelEntity);
+            log.info("Updated Label with ID: {}", code);
             return Optional.of(updatedLabelEntity);
         } else {
             return Optional.empty();
@@ -50,12 +71,12 @@ public class LabelServiceImpl implements LabelService {
     }
 
     @Override
-    @Cacheable(cacheNames = "labels")
     public boolean deleteLabel(String code) {
         log.info("Deleting Label with ID: {}", code);
         Optional<Label> existingLabel = labelRepository.findById(code);
         if (existingLabel.isPresent()) {
             labelRepository.deleteById(code);
+            labelCatalogue.remove(code);
             log.info("Label with ID {} deleted successfully", code);
             return true;
         } else {
@@ -65,9 +86,35 @@ public class LabelServiceImpl implements LabelService {
     }
 
     @Override
-    @Cacheable(cacheNames = "labels")
     public List<Label> getAllLabels() {
-        log.info("Retrieving all Labels");
-        return labelRepository.findAll();
+        return labelCatalogue.findAll();
+    }
+
+    @Override
+    public LabelsJson getAllLabelsAsJson() {
+        return labelCatalogue.findAllAsJson();
+    }
+
+    @Override
+    public List<Label> searchLabels(String prefix, int limit) {
+        return labelCatalogue.search(prefix, Math.min(limit, maxSearchLimit));
+    }
+
+    /**
+     * One read of the label counts, whatever the number of cases: they are kept up to date by the label writes.
+     */
+    @Override
+    public List<LabelCount> getLabelStats() {
+        log.debug("Retrieving Label statistics");
+        return labelCatalogue.withCaseCounts(labelStatsRepository.findCaseCounts());
+    }
+
+    @Override
+    public Optional<List<LabelCount>> getCooccurrences(String code) {
+        log.debug("Retrieving co-occurrences of Label: {}", code);
+        if (!labelCatalogue.contains(code)) {
+            return Optional.empty();
+        }
+        return Optional.of(labelCatalogue.describe(labelStatsRepository.findCooccurrences(code)));
     }
-}
\ No newline at end of file
+}
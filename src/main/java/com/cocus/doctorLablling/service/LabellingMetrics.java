@@ -0,0 +1,61 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.CaseLabellingTimes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Labelling throughput: how long cases wait for their labels, per doctor, and which labels are applied the most.
+ * The number of doctors and labels tagged is capped, see {@link com.cocus.doctorLablling.config.MetricsConfig}.
+ */
+@Component
+public class LabellingMetrics {
+
+    /**
+     * From the creation of a case to its first label ({@code label=first}) and to each label after ({@code label=last}).
+     */
+    public static final String TIME_TO_LABEL = "cases.time.to.label";
+
+    public static final String LABELS_APPLIED = "cases.labels.applied";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public void labelled(Collection<? extends CaseLabellingTimes> cases) {
+        cases.forEach(this::record);
+    }
+
+    private void record(CaseLabellingTimes labelled) {
+        if (labelled.getCreatedAt() == null || labelled.getLabelledAt() == null) {
+            return;
+        }
+        Duration timeToLabel = Duration.between(labelled.getCreatedAt(), labelled.getLabelledAt());
+        String doctor = String.valueOf(labelled.getDoctorId());
+        if (labelled.isFirstLabel()) {
+            timeToLabel(doctor, "first").record(timeToLabel);
+        }
+        timeToLabel(doctor, "last").record(timeToLabel);
+    }
+
+    public void labelApplied(String labelCode) {
+        Counter.builder(LABELS_APPLIED)
+                .description("Labels added to cases")
+                .tag("label", labelCode)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Timer timeToLabel(String doctor, String label) {
+        return Timer.builder(TIME_TO_LABEL)
+                .description("Time from the creation of a case to its labels")
+                .tag("doctor", doctor)
+                .tag("label", label)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.CaseSummary;
+import com.cocus.doctorLablling.dto.CursorPage;
+import com.cocus.doctorLablling.dto.LabelAssignmentResult;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link CaseService} for the reactive stack. Methods that find no case complete empty.
+ */
+@Service
+public interface ReactiveCaseService {
+    Mono<Case> createCase(Case caseObj);
+
+    Mono<Case> createNewLabelInCase(String caseId, Label label);
+
+    Flux<LabelAssignmentResult> assignLabels(List<CaseLabelPair> pairs);
+
+    Flux<Case> getAllCases();
+
+    Mono<CursorPage<Case>> getCasesPage(String after, int size);
+
+    Mono<CursorPage<CaseSummary>> getCaseSummariesPage(String after, int size);
+
+    Mono<Case> getCaseById(String caseId);
+
+    Flux<Case> getCasesByLabelCode(String labelCode);
+
+    Mono<CursorPage<Case>> getCasesPageByLabelCode(String labelCode, String after, int size);
+
+    Mono<Boolean> deleteLabelInCase(String caseId, String labelCode);
+
+    Mono<Case> updateCase(String caseId, Case caseObj);
+}
@@ -0,0 +1,266 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.CaseLabellingTimes;
+import com.cocus.doctorLablling.dto.CaseSummary;
+import com.cocus.doctorLablling.dto.CursorPage;
+import com.cocus.doctorLablling.dto.LabelAssignmentResult;
+import com.cocus.doctorLablling.dto.LabelEvent;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.ReactiveCaseRepository;
+import com.cocus.doctorLablling.repository.ReactiveLabelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuple3;
+import reactor.util.function.Tuples;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Same behaviour as {@link CaseServiceImpl} over R2DBC. Reads bypass the case caches, which are only kept up to date
+ * by the servlet stack. Labels are checked against, and new labels added to, the {@link LabelCatalogue} once the
+ * transaction has committed, when the {@link LabellingMetrics} are recorded as well.
+ */
+@Service
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCaseServiceImpl implements ReactiveCaseService {
+
+    @Autowired
+    private ReactiveCaseRepository reactiveCaseRepository;
+
+    @Autowired
+    private ReactiveLabelRepository reactiveLabelRepository;
+
+    @Autowired
+    private LabelCatalogue labelCatalogue;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    private LabellingMetrics labellingMetrics;
+
+    @Value("${cases.page.max-size:1000}")
+    private int maxPageSize;
+
+    @Override
+    public Mono<Case> createCase(Case caseObj) {
+        log.info("Creating a new Case with ID: {}", caseObj.getCaseId());
+        LocalDateTime now = LocalDateTime.now();
+        caseObj.setTimeToLabel(now);
+        caseObj.setCreatedAt(now);
+        List<Label> labels = caseObj.getLabels() == null ? List.of() : caseObj.getLabels();
+        caseObj.setFirstLabelledAt(labels.isEmpty() ? null : now);
+        return reactiveCaseRepository.upsert(caseObj)
+                // A case created again with the same id replaces all its labels, as in CaseServiceImpl.
+                .thenMany(reactiveCaseRepository.deleteLabels(caseObj.getCaseId()))
+                .collectList()
+                .flatMap(reactiveLabelRepository::labelsRemoved)
+                .then(reactiveCaseRepository.appendEvent(LabelEvent.Type.CASE_CREATED, caseObj.getCaseId(), null))
+                .thenMany(Flux.fromIterable(labels))
+                .concatMap(label -> reactiveLabelRepository.upsert(label)
+                        .flatMap(saved -> reactiveCaseRepository.insertLabel(caseObj.getCaseId(), saved.getCode())
+                                .map(inserted -> Tuples.of(saved, inserted))))
+                .collectList()
+                .flatMap(savedAndInserted -> reactiveLabelRepository.labelsAdded(savedAndInserted.stream()
+                                .filter(Tuple2::getT2)
+                                .map(saved -> new CaseLabelPair(caseObj.getCaseId(), saved.getT1().getCode()))
+                                .toList())
+                        .thenReturn(savedAndInserted.stream().map(Tuple2::getT1).toList()))
+                .as(transactionalOperator::transactional)
+                .doOnNext(savedLabels -> savedLabels.forEach(labelCatalogue::put))
+                .then(reactiveCaseRepository.findWithLabelsById(caseObj.getCaseId()));
+    }
+
+    @Override
+    public Mono<Case> createNewLabelInCase(String caseId, Label label) {
+        return Mono.defer(() -> {
+            boolean newLabel = !labelCatalogue.contains(label.getCode());
+            Mono<Void> saveLabel = newLabel ? reactiveLabelRepository.upsert(label).then() : Mono.empty();
+            return reactiveCaseRepository.existsById(caseId)
+                    .filter(exists -> exists)
+                    .flatMap(exists -> saveLabel
+                            // One row in the join table, however many labels the case already has.
+                            .then(reactiveCaseRepository.insertLabel(caseId, label.getCode()))
+                            .flatMap(inserted -> inserted
+                                    ? reactiveCaseRepository.appendEvent(LabelEvent.Type.LABEL_ADDED, caseId, label.getCode())
+                                            .thenMany(reactiveCaseRepository.updateTimeToLabel(List.of(caseId), LocalDateTime.now()))
+                                            .collectList()
+                                            // Now that the case is locked, see LabelStatsRepository.
+                                            .flatMap(labelled -> reactiveLabelRepository.labelsAdded(
+                                                    List.of(new CaseLabelPair(caseId, label.getCode()))).thenReturn(labelled))
+                                    : Mono.<List<CaseLabellingTimes>>empty())
+                            .defaultIfEmpty(List.of())
+                            .flatMap(labelled -> reactiveCaseRepository.findWithLabelsById(caseId)
+                                    .map(updatedCase -> Tuples.of(labelled, updatedCase))))
+                    .as(transactionalOperator::transactional)
+                    .doOnNext(labelledAndCase -> {
+                        if (newLabel) {
+                            labelCatalogue.put(label);
+                        }
+                        if (!labelledAndCase.getT1().isEmpty()) {
+                            labellingMetrics.labelled(labelledAndCase.getT1());
+                            labellingMetrics.labelApplied(label.getCode());
+                        }
+                    })
+                    .map(Tuple2::getT2);
+        });
+    }
+
+    /**
+     * One query to check the cases exist, one insert for every valid pair and one update of the labelled cases, in one
+     * transaction, as {@link CaseServiceImpl#assignLabels(List)}.
+     */
+    @Override
+    public Flux<LabelAssignmentResult> assignLabels(List<CaseLabelPair> pairs) {
+        log.info("Assigning {} labels to Cases", pairs.size());
+        Map<String, Label> labels = labelCatalogue.getSnapshot().labelsByCode();
+        List<String> caseIds = pairs.stream().map(CaseLabelPair::getCaseId).distinct().toList();
+        return reactiveCaseRepository.findExistingIds(caseIds)
+                .collect(Collectors.toSet())
+                .flatMap(existingCaseIds -> {
+                    Set<CaseLabelPair> validPairs = new LinkedHashSet<>();
+                    for (CaseLabelPair pair : pairs) {
+                        if (existingCaseIds.contains(pair.getCaseId()) && labels.containsKey(pair.getLabelCode())) {
+                            validPairs.add(pair);
+                        }
+                    }
+                    return reactiveCaseRepository.insertLabels(validPairs)
+                            .collect(Collectors.toCollection(HashSet::new))
+                            .flatMap(inserted -> {
+                                Set<String> labelledCaseIds = new LinkedHashSet<>();
+                                inserted.forEach(pair -> labelledCaseIds.add(pair.getCaseId()));
+                                Mono<List<CaseLabellingTimes>> update = labelledCaseIds.isEmpty() ? Mono.just(List.of())
+                                        : reactiveCaseRepository.updateTimeToLabel(labelledCaseIds, LocalDateTime.now()).collectList();
+                                List<String> labelCodes = inserted.stream().map(CaseLabelPair::getLabelCode).toList();
+                                return reactiveCaseRepository.appendEvents(LabelEvent.Type.LABEL_ADDED, inserted)
+                                        .then(update)
+                                        .flatMap(labelled -> reactiveLabelRepository.labelsAdded(inserted).thenReturn(labelled))
+                                        .map(labelled -> Tuples.of(toResults(pairs, existingCaseIds, labels, inserted),
+                                                labelled, labelCodes));
+                            });
+                })
+                .as(transactionalOperator::transactional)
+                .doOnNext(committed -> {
+                    labellingMetrics.labelled(committed.getT2());
+                    committed.getT3().forEach(labellingMetrics::labelApplied);
+                })
+                .flatMapIterable(Tuple3::getT1);
+    }
+
+    private static List<LabelAssignmentResult> toResults(List<CaseLabelPair> pairs, Set<String> existingCaseIds,
+                                                         Map<String, Label> labels, Set<CaseLabelPair> inserted) {
+        List<LabelAssignmentResult> results = new ArrayList<>(pairs.size());
+        for (CaseLabelPair pair : pairs) {
+            LabelAssignmentResult.Status status;
+            if (!existingCaseIds.contains(pair.getCaseId())) {
+                status = LabelAssignmentResult.Status.UNKNOWN_CASE;
+            } else if (!labels.containsKey(pair.getLabelCode())) {
+                status = LabelAssignmentResult.Status.UNKNOWN_LABEL;
+            } else if (inserted.remove(pair)) {
+                status = LabelAssignmentResult.Status.APPLIED;
+            } else {
+                status = LabelAssignmentResult.Status.ALREADY_PRESENT;
+            }
+            results.add(new LabelAssignmentResult(pair.getCaseId(), pair.getLabelCode(), status));
+        }
+        return results;
+    }
+
+    @Override
+    public Flux<Case> getAllCases() {
+        log.info("Streaming all Cases");
+        return reactiveCaseRepository.findAllWithLabels();
+    }
+
+    @Override
+    public Mono<CursorPage<Case>> getCasesPage(String after, int size) {
+        int pageSize = clampPageSize(size);
+        log.debug("Retrieving {} Cases after ID: {}", pageSize, after);
+        return reactiveCaseRepository.findPageWithLabels(after == null ? "" : after, pageSize)
+                .collectList()
+                .map(cases -> toPage(cases, pageSize, Case::getCaseId));
+    }
+
+    @Override
+    public Mono<CursorPage<CaseSummary>> getCaseSummariesPage(String after, int size) {
+        int pageSize = clampPageSize(size);
+        log.debug("Retrieving {} Case summaries after ID: {}", pageSize, after);
+        return reactiveCaseRepository.findSummariesAfter(after == null ? "" : after, pageSize)
+                .collectList()
+                .map(summaries -> toPage(summaries, pageSize, CaseSummary::getCaseId));
+    }
+
+    @Override
+    public Mono<Case> getCaseById(String caseId) {
+        log.debug("Retrieving Case with ID: {}", caseId);
+        return reactiveCaseRepository.findWithLabelsById(caseId);
+    }
+
+    @Override
+    public Flux<Case> getCasesByLabelCode(String labelCode) {
+        log.debug("Retrieving Case with label Code: {}", labelCode);
+        return reactiveCaseRepository.findWithLabelsByLabelCode(labelCode);
+    }
+
+    @Override
+    public Mono<CursorPage<Case>> getCasesPageByLabelCode(String labelCode, String after, int size) {
+        int pageSize = clampPageSize(size);
+        log.debug("Retrieving {} Cases with label Code: {} after ID: {}", pageSize, labelCode, after);
+        return reactiveCaseRepository.findPageWithLabelsByLabelCode(labelCode, after == null ? "" : after, pageSize)
+                .collectList()
+                .map(cases -> toPage(cases, pageSize, Case::getCaseId));
+    }
+
+    @Override
+    public Mono<Boolean> deleteLabelInCase(String caseId, String labelCode) {
+        return reactiveCaseRepository.existsById(caseId)
+                .flatMap(exists -> exists
+                        ? reactiveCaseRepository.deleteLabel(caseId, labelCode)
+                                .flatMap(deleted -> deleted
+                                        ? reactiveCaseRepository.appendEvent(LabelEvent.Type.LABEL_REMOVED, caseId, labelCode)
+                                                .then(reactiveCaseRepository.incrementVersion(caseId))
+                                                .then(reactiveLabelRepository.labelsRemoved(List.of(new CaseLabelPair(caseId, labelCode))))
+                                        : Mono.<Void>empty())
+                                .as(transactionalOperator::transactional)
+                                .thenReturn(true)
+                        : Mono.just(false));
+    }
+
+    @Override
+    public Mono<Case> updateCase(String caseId, Case caseObj) {
+        log.info("Updating Case with ID: {}", caseId);
+        return reactiveCaseRepository.update(caseId, caseObj.getCaseDescription(), caseObj.getDoctorId())
+                .filter(updated -> updated)
+                .flatMap(updated -> reactiveCaseRepository.appendEvent(LabelEvent.Type.CASE_UPDATED, caseId, null)
+                        .thenReturn(updated))
+                .as(transactionalOperator::transactional)
+                .flatMap(updated -> reactiveCaseRepository.findWithLabelsById(caseId));
+    }
+
+    private static <T> CursorPage<T> toPage(List<T> items, int pageSize, Function<T, String> id) {
+        String nextCursor = items.size() == pageSize ? id.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+}
@@ -0,0 +1,34 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.LabelCount;
+import com.cocus.doctorLablling.dto.LabelsJson;
+import com.cocus.doctorLablling.model.Label;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link LabelService} for the reactive stack. Methods that find no label complete empty.
+ */
+@Service
+public interface ReactiveLabelService {
+    Mono<Label> createLabel(Label label);
+
+    Mono<Label> getLabelById(String code);
+
+    Mono<Label> updateLabel(String code, Label label);
+
+    Mono<Boolean> deleteLabel(String code);
+
+    Flux<Label> getAllLabels();
+
+    Mono<LabelsJson> getAllLabelsAsJson();
+
+    Flux<Label> searchLabels(String prefix, int limit);
+
+    Flux<LabelCount> getLabelStats();
+
+    Mono<List<LabelCount>> getCooccurrences(String code);
+}
@@ -0,0 +1,93 @@
+package com.cocus.doctorLablling.service;
+
+import com.cocus.doctorLablling.dto.LabelCount;
+import com.cocus.doctorLablling.dto.LabelsJson;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.ReactiveLabelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reads are served from the {@link LabelCatalogue} without touching the database; writes go through R2DBC and are
+ * then applied to the catalogue.
+ */
+@Service
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLabelServiceImpl implements ReactiveLabelService {
+    @Autowired
+    private ReactiveLabelRepository reactiveLabelRepository;
+
+    @Autowired
+    private LabelCatalogue labelCatalogue;
+
+    @Value("${labels.search.max-limit:100}")
+    private int maxSearchLimit;
+
+    @Override
+    public Mono<Label> createLabel(Label label) {
+        log.info("Creating a new Label with code: {}", label.getCode());
+        return reactiveLabelRepository.upsert(label)
+                .doOnNext(labelCatalogue::put);
+    }
+
+    @Override
+    public Mono<Label> getLabelById(String code) {
+        return Mono.justOrEmpty(labelCatalogue.find(code));
+    }
+
+    @Override
+    public Mono<Label> updateLabel(String code, Label label) {
+        log.info("Updating Label with ID: {}", code);
+        return reactiveLabelRepository.updateDescription(code, label.getDescription())
+                .filter(updated -> updated)
+                .map(updated -> new Label(code, label.getDescription()))
+                .doOnNext(labelCatalogue::put);
+    }
+
+    @Override
+    public Mono<Boolean> deleteLabel(String code) {
+        log.info("Deleting Label with ID: {}", code);
+        return reactiveLabelRepository.delete(code)
+                .doOnNext(deleted -> {
+                    if (deleted) {
+                        labelCatalogue.remove(code);
+                    }
+                });
+    }
+
+    @Override
+    public Flux<Label> getAllLabels() {
+        return Flux.fromIterable(labelCatalogue.findAll());
+    }
+
+    @Override
+    public Mono<LabelsJson> getAllLabelsAsJson() {
+        return Mono.fromSupplier(labelCatalogue::findAllAsJson);
+    }
+
+    @Override
+    public Flux<Label> searchLabels(String prefix, int limit) {
+        return Flux.fromIterable(labelCatalogue.search(prefix, Math.min(limit, maxSearchLimit)));
+    }
+
+    @Override
+    public Flux<LabelCount> getLabelStats() {
+        return reactiveLabelRepository.findCaseCounts()
+                .flatMapIterable(labelCatalogue::withCaseCounts);
+    }
+
+    @Override
+    public Mono<List<LabelCount>> getCooccurrences(String code) {
+        return Mono.defer(() -> labelCatalogue.contains(code)
+                ? reactiveLabelRepository.findCooccurrences(code).map(labelCatalogue::describe)
+                : Mono.empty());
+    }
+}
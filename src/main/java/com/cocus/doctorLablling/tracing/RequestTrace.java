@@ -0,0 +1,86 @@
+package com.cocus.doctorLablling.tracing;
+
+import java.util.Locale;
+
+/**
+ * What a traced request spent its time on: SQL statements, case cache lookups and JSON serialization.
+ * <p>
+ * The trace is bound to the thread serving the request by {@link RequestTraceFilter}. When the request is not traced
+ * {@link #current()} is {@code null} and the recorders do nothing else than that check.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+
+    private int sqlCount;
+
+    private long sqlNanos;
+
+    private int cacheHits;
+
+    private int cacheMisses;
+
+    private long serializationNanos;
+
+    /**
+     * @return the trace of the request served by this thread, {@code null} if it is not traced
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    static RequestTrace start() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    void sql(long nanos) {
+        sqlCount++;
+        sqlNanos += nanos;
+    }
+
+    void cacheHit() {
+        cacheHits++;
+    }
+
+    void cacheMiss() {
+        cacheMisses++;
+    }
+
+    void serialization(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    /**
+     * @return the value of the {@code Server-Timing} header, durations in milliseconds
+     */
+    String serverTiming() {
+        return String.format(Locale.ROOT,
+                "db;dur=%.3f;desc=\"%d statements\", cache;desc=\"%d hits, %d misses\", ser;dur=%.3f, total;dur=%.3f",
+                millis(sqlNanos), sqlCount, cacheHits, cacheMisses, millis(serializationNanos), millis(elapsedNanos()));
+    }
+
+    /**
+     * @return the same values as {@link #serverTiming()}, as {@code key=value} pairs for the log
+     */
+    String toLogFields() {
+        return String.format(Locale.ROOT,
+                "sql_count=%d sql_ms=%.3f cache_hits=%d cache_misses=%d serialization_ms=%.3f total_ms=%.3f",
+                sqlCount, millis(sqlNanos), cacheHits, cacheMisses, millis(serializationNanos), millis(elapsedNanos()));
+    }
+
+    private long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
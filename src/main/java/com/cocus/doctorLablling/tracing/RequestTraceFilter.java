@@ -0,0 +1,49 @@
+package com.cocus.doctorLablling.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Traces the requests sent with the {@code tracing.header} header, or every request while this logger is at
+ * {@code DEBUG}, which can be switched at runtime through {@code /actuator/loggers}. The trace is returned in the
+ * {@code Server-Timing} header and logged once the request has been served.
+ */
+@Slf4j
+public class RequestTraceFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final String header;
+
+    public RequestTraceFilter(String header) {
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (request.getHeader(header) == null && !log.isDebugEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestTrace trace = RequestTrace.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTrace.stop();
+            // Response bodies already carry it, responses without one get it if nothing was sent yet.
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.setHeader(SERVER_TIMING, trace.serverTiming());
+            }
+            log.info("Request trace method={} uri={} status={} {}", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), trace.toLogFields());
+        }
+    }
+}
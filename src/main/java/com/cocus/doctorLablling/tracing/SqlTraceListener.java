@@ -0,0 +1,40 @@
+package com.cocus.doctorLablling.tracing;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Times the statements Hibernate executes for a traced request. Registered for every session with
+ * {@code hibernate.session.events.auto}; the statements of {@code JdbcTemplate} do not go through Hibernate and are
+ * not counted.
+ */
+public class SqlTraceListener extends BaseSessionEventListener {
+
+    private long statementStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.sql(System.nanoTime() - statementStart);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.cocus.doctorLablling.tracing;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+/**
+ * Resolves the caches of {@code @Cacheable} methods as usual, wrapped to count hits and misses when the request is
+ * traced. Untraced requests get the caches of the {@link CacheManager} unchanged.
+ */
+public class TracingCacheResolver extends SimpleCacheResolver {
+
+    public TracingCacheResolver(CacheManager cacheManager) {
+        super(cacheManager);
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        Collection<? extends Cache> caches = super.resolveCaches(context);
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null) {
+            return caches;
+        }
+        return caches.stream().map(cache -> new TracingCache(cache, trace)).toList();
+    }
+
+    private record TracingCache(Cache delegate, RequestTrace trace) implements Cache {
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            ValueWrapper value = delegate.get(key);
+            if (value != null) {
+                trace.cacheHit();
+            } else {
+                trace.cacheMiss();
+            }
+            return value;
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return delegate.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return delegate.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return delegate.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return delegate.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return delegate.invalidate();
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.cocus.doctorLablling.integrationTest;
 
+import com.cocus.doctorLablling.config.WireFormats;
 import com.cocus.doctorLablling.model.Case;
 import com.cocus.doctorLablling.model.Label;
 import com.cocus.doctorLablling.repository.CaseRepository;
 import com.cocus.doctorLablling.repository.LabelRepository;
 import com.cocus.doctorLablling.service.CaseServiceImpl;
+import com.cocus.doctorLablling.service.LabelCatalogue;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jayway.jsonpath.JsonPath;
 import io.restassured.RestAssured;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,9 +22,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -88,11 +94,25 @@ public class CaseControllerIntegrationTest{
     @Autowired
     private LabelRepository labelRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private LabelCatalogue labelCatalogue;
+
+    @Autowired
+    private WireFormats wireFormats;
+
     @BeforeEach
     public void setUps() {
         // Clear the repositories before each test
         caseRepository.deleteAll();
         labelRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        labelCatalogue.reload();
     }
 
     @Test
@@ -115,6 +135,109 @@ public class CaseControllerIntegrationTest{
         assertEquals(1L, cases.get(0).getDoctorId());
     }
 
+    @Test
+    public void testCreateCaseAgainAfterLabellingIt() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/cases")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new Case("123", "Test Case", 1L,
+                                new ArrayList<>(List.of(new Label("A001", "Label 1"))), null))))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/cases/123/labels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new Label("A002", "Label 2"))))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // The body has no version: the case is overwritten whatever version it is at, labels included.
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/cases")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new Case("123", "Test Case Again", 2L,
+                                new ArrayList<>(List.of(new Label("A003", "Label 3"))), null))))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.caseDescription").value("Test Case Again"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.labels.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.labels[0].code").value("A003"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.version").value(2));
+
+        Case caseObj = caseRepository.findById("123").get();
+        assertEquals("Test Case Again", caseObj.getCaseDescription());
+        assertEquals(2L, caseObj.getDoctorId());
+        assertEquals(List.of("A003"), caseObj.getLabels().stream().map(Label::getCode).toList());
+        assertEquals(2L, caseObj.getVersion());
+    }
+
+    @Test
+    public void testImportCases() throws Exception {
+        labelRepository.save(new Label("A001", "Label 1"));
+        caseRepository.save(new Case("456", "Existing Case", 2L, new ArrayList<>(), LocalDateTime.now()));
+
+        String ndjson = "{\"caseId\":\"123\",\"caseDescription\":\"Case 1\",\"doctorId\":1,\"labels\":[{\"code\":\"A001\"}]}\n"
+                + "{\"caseId\":\"456\",\"caseDescription\":\"Case 2\",\"doctorId\":1}\n"
+                + "{\"caseId\":\"789\",\"caseDescription\":\"Case 3\",\"doctorId\":1,\"labels\":[{\"code\":\"Z999\"}]}\n";
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/cases/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$[2].status").value("INVALID"));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/cases/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"caseId\":\"789\",\"caseDescription\":\"Case 3\",\"doctorId\":1}]"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"));
+
+        assertEquals(3, caseRepository.count());
+        assertEquals("A001", caseRepository.findById("123").get().getLabels().get(0).getCode());
+    }
+
+    @Test
+    public void testAssignLabels() throws Exception {
+        labelRepository.save(new Label("A001", "Label 1"));
+        labelRepository.save(new Label("A002", "Label 2"));
+        labelCatalogue.reload();
+        caseRepository.save(new Case("123", "Test Case 1", 1L, new ArrayList<>(), LocalDateTime.now()));
+        caseRepository.save(new Case("456", "Test Case 2", 2L, new ArrayList<>(), LocalDateTime.now()));
+
+        String pairs = "[{\"caseId\":\"123\",\"labelCode\":\"A001\"},"
+                + "{\"caseId\":\"123\",\"labelCode\":\"A002\"},"
+                + "{\"caseId\":\"456\",\"labelCode\":\"A001\"},"
+                + "{\"caseId\":\"456\",\"labelCode\":\"Z999\"},"
+                + "{\"caseId\":\"789\",\"labelCode\":\"A001\"}]";
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/cases/labels:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(pairs))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].status").value("APPLIED"))
+                .andExpect(jsonPath("$[1].status").value("APPLIED"))
+                .andExpect(jsonPath("$[2].status").value("APPLIED"))
+                .andExpect(jsonPath("$[3].status").value("UNKNOWN_LABEL"))
+                .andExpect(jsonPath("$[4].status").value("UNKNOWN_CASE"));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/cases/labels:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"caseId\":\"456\",\"labelCode\":\"A001\"}]"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$[0].status").value("ALREADY_PRESENT"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/cases/123"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.labels.length()").value(2));
+        assertEquals(List.of("123", "456"), caseRepository.findCaseIdsByLabelCode("A001"));
+    }
+
     @Test
     @Transactional
     public void testCreateNewLabelInCase() throws Exception {
@@ -139,6 +262,8 @@ public class CaseControllerIntegrationTest{
                         .content(asJsonString(label)))
                 .andExpect(MockMvcResultMatchers.status().isOk());
 
+        // The label row is inserted with JDBC: drop the case this transaction already loaded, with no labels.
+        entityManager.clear();
         List<Case> cases = caseRepository.findAll();
         assertEquals(1, cases.size());
         assertEquals("123", cases.get(0).getCaseId());
@@ -166,6 +291,33 @@ public class CaseControllerIntegrationTest{
                 .andExpect(jsonPath("$[1].doctorId").value(2));
     }
 
+    @Test
+    public void testGetCasesPage() throws Exception {
+        Case case1 = new Case("123", "Test Case 1", 1L, new ArrayList<>(), LocalDateTime.now());
+        Case case2 = new Case("456", "Test Case 2", 2L, new ArrayList<>(), LocalDateTime.now());
+        Case case3 = new Case("789", "Test Case 3", 3L, new ArrayList<>(), LocalDateTime.now());
+
+        caseRepository.saveAll(Arrays.asList(case1, case2, case3));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/cases")
+                        .param("size", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].caseId").value("123"))
+                .andExpect(jsonPath("$.items[1].caseId").value("456"))
+                .andExpect(jsonPath("$.nextCursor").value("456"));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/cases")
+                        .param("after", "456")
+                        .param("size", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].caseId").value("789"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     public void testGetCaseById() throws Exception {
         Case caseObj = new Case("123", "Test Case", 1L, new ArrayList<>(), LocalDateTime.now());
@@ -207,6 +359,34 @@ public class CaseControllerIntegrationTest{
                 .andExpect(jsonPath("$[0].doctorId").value(1));
     }
 
+    @Test
+    public void testGetCasesPageByLabelCode() throws Exception {
+        Label label = new Label("A001", "Label 1");
+        Case case1 = new Case("123", "Test Case 1", 1L, new ArrayList<>(List.of(label)), LocalDateTime.now());
+        Case case2 = new Case("456", "Test Case 2", 2L, new ArrayList<>(List.of(label)), LocalDateTime.now());
+        Case case3 = new Case("789", "Test Case 3", 3L, new ArrayList<>(), LocalDateTime.now());
+
+        caseRepository.saveAll(Arrays.asList(case1, case2, case3));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/cases")
+                        .param("label", "A001")
+                        .param("size", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].caseId").value("123"))
+                .andExpect(jsonPath("$.nextCursor").value("123"));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/cases")
+                        .param("label", "A001")
+                        .param("after", "123")
+                        .param("size", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].caseId").value("456"));
+    }
+
     @Test
     public void testDeleteLabelInCase() throws Exception {
         Case caseObj = new Case("123", "Test Case", 1L, new ArrayList<>(), LocalDateTime.now());
@@ -261,6 +441,228 @@ public class CaseControllerIntegrationTest{
         assertEquals(2L, cases.get(0).getDoctorId());
     }
 
+    @Test
+    public void testConditionalWritesWithIfMatch() throws Exception {
+        labelRepository.save(new Label("A001", "Label 1"));
+        labelCatalogue.reload();
+        caseRepository.save(new Case("123", "Test Case", 1L, new ArrayList<>(), LocalDateTime.now()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/cases/123"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"0\""));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/cases/123/labels")
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new Label("A001", "Label 1"))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1\""));
+
+        // A second writer still holding the first ETag loses instead of overwriting.
+        mockMvc.perform(MockMvcRequestBuilders
+                        .put("/cases/123")
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new Case("123", "Stale Update", 2L, new ArrayList<>(), null))))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .put("/cases/123")
+                        .header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new Case("123", "Updated Test Case", 2L, new ArrayList<>(), null))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"2\""));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .delete("/cases/123/labels/A001")
+                        .header("If-Match", "\"1\""))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        Case caseObj = caseRepository.findById("123").get();
+        assertEquals("Updated Test Case", caseObj.getCaseDescription());
+        assertEquals(1, caseObj.getLabels().size());
+        assertEquals(2L, caseObj.getVersion());
+    }
+
+    @Test
+    public void testLeaseNextCase() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        caseRepository.saveAll(List.of(
+                new Case("1", "Oldest", 1L, new ArrayList<>(), now, now.minusMinutes(2), null, 0L),
+                new Case("2", "Newest", 1L, new ArrayList<>(), now, now.minusMinutes(1), null, 0L)));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/doctors/7/next-case"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.medicalCase.caseId").value("1"));
+        // the case is leased to doctor 7 only, who gets it again
+        mockMvc.perform(MockMvcRequestBuilders.post("/doctors/8/next-case"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.medicalCase.caseId").value("2"));
+        mockMvc.perform(MockMvcRequestBuilders.post("/doctors/7/next-case"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.medicalCase.caseId").value("1"));
+        mockMvc.perform(MockMvcRequestBuilders.post("/doctors/9/next-case"))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+    }
+
+    @Test
+    public void testGetCasesPageByDoctor() throws Exception {
+        LocalDateTime labelledAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        caseRepository.saveAll(List.of(
+                new Case("1", "Latest", 7L, new ArrayList<>(), labelledAt.plusMinutes(1)),
+                new Case("2", "Earliest", 7L, new ArrayList<>(), labelledAt),
+                new Case("3", "Other doctor", 8L, new ArrayList<>(), labelledAt)));
+
+        String nextCursor = JsonPath.read(mockMvc.perform(MockMvcRequestBuilders
+                        .get("/doctors/7/cases")
+                        .param("size", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].caseId").value("2"))
+                .andReturn().getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/doctors/7/cases")
+                        .param("after", nextCursor)
+                        .param("size", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].caseId").value("1"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/doctors/7/cases").param("after", "not-a-cursor"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testSearchCases() throws Exception {
+        Label label = labelRepository.save(new Label("A001", "Label 1"));
+        labelCatalogue.reload();
+        LocalDateTime now = LocalDateTime.now();
+        caseRepository.saveAll(List.of(
+                new Case("1", "Fracture of the left wrist", 7L, new ArrayList<>(List.of(label)), now),
+                new Case("2", "Wrist fracture with swelling of the wrist", 7L, new ArrayList<>(), now),
+                new Case("3", "Chest pain", 7L, new ArrayList<>(), now),
+                new Case("4", "Wrist sprain", 8L, new ArrayList<>(), now)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/cases/search").param("q", "wrists fractured"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].caseId").value("2"))
+                .andExpect(jsonPath("$.items[1].caseId").value("1"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/cases/search").param("q", "wrist").param("doctorId", "7")
+                        .param("label", "A001"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].caseId").value("1"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/cases/search").param("q", " "))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testConditionalGet() throws Exception {
+        caseRepository.save(new Case("1", "Case 1", 7L, new ArrayList<>(), LocalDateTime.now()));
+
+        String caseETag = mockMvc.perform(MockMvcRequestBuilders.get("/cases/1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/cases/1").header(HttpHeaders.IF_NONE_MATCH, caseETag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        mockMvc.perform(MockMvcRequestBuilders.put("/cases/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new Case("1", "Case 1 updated", 7L, new ArrayList<>(), LocalDateTime.now()))))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get("/cases/1").header(HttpHeaders.IF_NONE_MATCH, caseETag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.caseDescription").value("Case 1 updated"));
+
+        String labelsETag = mockMvc.perform(MockMvcRequestBuilders.get("/labels").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/labels").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, labelsETag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        mockMvc.perform(MockMvcRequestBuilders.get("/labels").header(HttpHeaders.IF_NONE_MATCH, labelsETag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    public void testCaseWireFormats() throws Exception {
+        Label label = labelRepository.save(new Label("A001", "Label 1"));
+        caseRepository.save(new Case("1", "Case 1", 7L, new ArrayList<>(List.of(label)), LocalDateTime.now()));
+
+        byte[] smile = mockMvc.perform(MockMvcRequestBuilders.get("/cases/1").accept(WireFormats.SMILE))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(WireFormats.SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        Case smileCase = wireFormats.getSmileObjectMapper().readValue(smile, Case.class);
+        assertEquals("Label 1", smileCase.getLabels().get(0).getDescription());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/cases/1").accept(WireFormats.LABEL_CODES_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(WireFormats.LABEL_CODES_JSON))
+                .andExpect(jsonPath("$.labels[0]").value("A001"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/cases").accept(WireFormats.LABEL_CODES_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$[0].labels[0]").value("A001"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/cases/1").accept(MediaType.ALL))
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.labels[0].description").value("Label 1"));
+    }
+
+    @Test
+    public void testGetChanges() throws Exception {
+        String since = JsonPath.read(mockMvc.perform(MockMvcRequestBuilders.get("/changes?limit=1000"))
+                .andReturn().getResponse().getContentAsString(), "$.nextCursor");
+        labelRepository.save(new Label("A001", "Label 1"));
+        labelCatalogue.reload();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/cases")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new Case("123", "Test Case", 1L, new ArrayList<>(), null))))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/cases/123/labels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new Label("A001", "Label 1"))))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders
+                        .delete("/cases/123/labels/A001"))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        String nextCursor = JsonPath.read(mockMvc.perform(MockMvcRequestBuilders
+                        .get("/changes")
+                        .param("since", since)
+                        .param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].type").value("CASE_CREATED"))
+                .andExpect(jsonPath("$.items[1].type").value("LABEL_ADDED"))
+                .andExpect(jsonPath("$.items[1].labelCode").value("A001"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/changes")
+                        .param("since", nextCursor))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].type").value("LABEL_REMOVED"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/changes").param("since", "not-a-cursor"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     // Helper method to convert Java objects to JSON
     private static String asJsonString(Object obj) {
         try {
@@ -0,0 +1,157 @@
+package com.cocus.doctorLablling.integrationTest;
+
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.CaseRepository;
+import com.cocus.doctorLablling.repository.LabelRepository;
+import com.cocus.doctorLablling.service.LabelCatalogue;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Adding or removing one label of a case must cost the same number of statements whatever the number of labels
+ * the case already has.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class CaseLabelWriteCostIntegrationTest {
+
+    private static final int[] LABEL_COUNTS = {1, 10, 200};
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            "postgres:15-alpine"
+    );
+
+    @BeforeAll
+    static void beforeAll() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        postgres.stop();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @TestConfiguration
+    static class QueryCountConfiguration {
+        @Bean
+        static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource).countQuery().build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private LabelCatalogue labelCatalogue;
+
+    @BeforeEach
+    public void setUp() {
+        caseRepository.deleteAll();
+        labelRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        List<Label> labels = new ArrayList<>();
+        for (int i = 0; i <= LABEL_COUNTS[LABEL_COUNTS.length - 1]; i++) {
+            labels.add(new Label(String.format("L%03d", i), "Label " + i));
+        }
+        labelRepository.saveAll(labels);
+        labelCatalogue.reload();
+        for (int labelCount : LABEL_COUNTS) {
+            caseRepository.save(new Case("case-" + labelCount, "Test Case", 1L,
+                    new ArrayList<>(labels.subList(1, labelCount + 1)), LocalDateTime.now()));
+        }
+    }
+
+    @Test
+    public void testAddLabelCostDoesNotGrowWithLabelCount() throws Exception {
+        List<Long> writes = new ArrayList<>();
+        List<Long> totals = new ArrayList<>();
+        for (int labelCount : LABEL_COUNTS) {
+            QueryCountHolder.clear();
+            mockMvc.perform(MockMvcRequestBuilders
+                            .post("/cases/case-" + labelCount + "/labels")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"code\":\"L000\",\"description\":\"Label 0\"}"))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+            QueryCount count = QueryCountHolder.getGrandTotal();
+            writes.add(count.getInsert() + count.getUpdate() + count.getDelete());
+            totals.add(count.getTotal());
+        }
+
+        // one row in the join table, the labelling time of the case and one label_event row
+        assertEquals(List.of(3L, 3L, 3L), writes);
+        assertEquals(1, totals.stream().distinct().count());
+    }
+
+    @Test
+    public void testDeleteLabelCostDoesNotGrowWithLabelCount() throws Exception {
+        List<Long> writes = new ArrayList<>();
+        List<Long> totals = new ArrayList<>();
+        for (int labelCount : LABEL_COUNTS) {
+            QueryCountHolder.clear();
+            mockMvc.perform(MockMvcRequestBuilders
+                            .delete("/cases/case-" + labelCount + "/labels/L001"))
+                    .andExpect(MockMvcResultMatchers.status().isNoContent());
+            QueryCount count = QueryCountHolder.getGrandTotal();
+            writes.add(count.getInsert() + count.getUpdate() + count.getDelete());
+            totals.add(count.getTotal());
+        }
+
+        // one row out of the join table, the version bump of the case as the second write and one label_event row
+        assertEquals(List.of(3L, 3L, 3L), writes);
+        assertEquals(1, totals.stream().distinct().count());
+        assertEquals(LABEL_COUNTS[2] - 1, caseRepository.findById("case-200").get().getLabels().size());
+    }
+}
@@ -0,0 +1,166 @@
+package com.cocus.doctorLablling.integrationTest;
+
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.CaseRepository;
+import com.cocus.doctorLablling.repository.LabelRepository;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * Guards against N+1 label loading: counts the SQL statements each read endpoint sends to the database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class CaseQueryCountIntegrationTest {
+
+    private static final int CASE_COUNT = 20;
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            "postgres:15-alpine"
+    );
+
+    @BeforeAll
+    static void beforeAll() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        postgres.stop();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @TestConfiguration
+    static class QueryCountConfiguration {
+        @Bean
+        static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource).countQuery().build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp() {
+        caseRepository.deleteAll();
+        labelRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        List<Case> cases = new ArrayList<>();
+        for (int i = 0; i < CASE_COUNT; i++) {
+            Case caseObj = new Case(String.format("case-%03d", i), "Test Case " + i, 1L, new ArrayList<>(), LocalDateTime.now());
+            caseObj.getLabels().add(new Label("A" + i, "Label A" + i));
+            caseObj.getLabels().add(new Label("B" + i, "Label B" + i));
+            cases.add(caseObj);
+        }
+        caseRepository.saveAll(cases);
+        QueryCountHolder.clear();
+    }
+
+    @Test
+    public void testCasePageLoadsLabelsInTwoStatements() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/cases")
+                        .param("size", String.valueOf(CASE_COUNT)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(CASE_COUNT))
+                .andExpect(jsonPath("$.items[0].labels.length()").value(2));
+
+        assertEquals(2, QueryCountHolder.getGrandTotal().getTotal());
+    }
+
+    @Test
+    public void testCaseSummaryPageSkipsLabels() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/cases")
+                        .param("size", String.valueOf(CASE_COUNT))
+                        .param("includeLabels", "false"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(CASE_COUNT))
+                .andExpect(jsonPath("$.items[0].labels").doesNotExist());
+
+        assertEquals(1, QueryCountHolder.getGrandTotal().getTotal());
+    }
+
+    @Test
+    public void testStreamingAllCasesDoesNotLoadLabelsPerCase() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/cases"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(CASE_COUNT));
+
+        assertEquals(2, QueryCountHolder.getGrandTotal().getTotal());
+    }
+
+    @Test
+    public void testGetCaseByIdLoadsLabelsWithTheCase() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/cases/case-007"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.labels.length()").value(2));
+
+        assertEquals(1, QueryCountHolder.getGrandTotal().getTotal());
+    }
+
+    @Test
+    public void testGetCasesByLabelLoadsLabelsWithTheCases() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/cases")
+                        .param("label", "A3"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$[0].caseId").value("case-003"));
+
+        // The case ids are read from the label index first, then the cases are loaded with their labels by id.
+        assertEquals(2, QueryCountHolder.getGrandTotal().getTotal());
+    }
+}
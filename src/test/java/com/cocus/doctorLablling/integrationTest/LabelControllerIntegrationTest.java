@@ -3,6 +3,7 @@ package com.cocus.doctorLablling.integrationTest;
 import com.cocus.doctorLablling.model.Label;
 import com.cocus.doctorLablling.repository.CaseRepository;
 import com.cocus.doctorLablling.repository.LabelRepository;
+import com.cocus.doctorLablling.service.LabelCatalogue;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.restassured.RestAssured;
 import org.junit.jupiter.api.AfterAll;
@@ -15,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -68,6 +70,13 @@ public class LabelControllerIntegrationTest {
 
     @Autowired
     private LabelRepository labelRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private LabelCatalogue labelCatalogue;
+
     @Autowired
     private CaseRepository caseRepository;
 
@@ -76,6 +85,8 @@ public class LabelControllerIntegrationTest {
         // Clear the repository before each test
         caseRepository.deleteAll();
         labelRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        labelCatalogue.reload();
     }
 
     @Test
@@ -102,6 +113,7 @@ public class LabelControllerIntegrationTest {
         Label label2 = new Label("B002", "Label 2");
 
         labelRepository.saveAll(List.of(label1, label2));
+        labelCatalogue.reload();
 
         mockMvc.perform(MockMvcRequestBuilders
                         .get("/labels"))
@@ -120,10 +132,41 @@ public class LabelControllerIntegrationTest {
                 .andExpect(MockMvcResultMatchers.status().isNotFound());
     }
 
+    @Test
+    public void testSearchLabels() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/labels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new Label("A001", "Typhoid fever"))))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/labels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new Label("R50", "Fever of unknown origin"))))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/labels/search")
+                        .param("prefix", "fev"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].code").value("A001"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].code").value("R50"));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/labels/search")
+                        .param("prefix", "r5")
+                        .param("limit", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].code").value("R50"));
+    }
+
     @Test
     public void testUpdateLabel() throws Exception {
         Label label = new Label("A001", "Test Label");
         labelRepository.save(label);
+        labelCatalogue.reload();
 
         Label updatedLabel = new Label("A001", "Updated Test Label");
 
@@ -142,6 +185,7 @@ public class LabelControllerIntegrationTest {
     public void testDeleteLabel() throws Exception {
         Label label = new Label("A001", "Test Label");
         labelRepository.save(label);
+        labelCatalogue.reload();
 
         mockMvc.perform(MockMvcRequestBuilders
                         .delete("/labels/A001"))
@@ -0,0 +1,219 @@
+package com.cocus.doctorLablling.integrationTest;
+
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.LabelAssignmentResult;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.CaseRepository;
+import com.cocus.doctorLablling.repository.LabelRepository;
+import com.cocus.doctorLablling.service.LabelCatalogue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The case and label endpoints with {@code spring.main.web-application-type=reactive}: WebFlux over R2DBC.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+public class ReactiveControllerIntegrationTest {
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            "postgres:15-alpine"
+    );
+
+    @BeforeAll
+    static void beforeAll() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        postgres.stop();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private LabelCatalogue labelCatalogue;
+
+    @BeforeEach
+    public void setUp() {
+        caseRepository.deleteAll();
+        labelRepository.deleteAll();
+        labelRepository.save(new Label("A001", "Label 1"));
+        caseRepository.save(new Case("123", "Case 1", 1L, new ArrayList<>(List.of(new Label("A001", "Label 1"))), LocalDateTime.now()));
+        caseRepository.save(new Case("456", "Case 2", 2L, new ArrayList<>(), LocalDateTime.now()));
+        labelCatalogue.reload();
+    }
+
+    @Test
+    public void testCreateCase() {
+        Case caseObj = new Case("789", "Case 3", 3L, new ArrayList<>(List.of(new Label("B001", "Label 2"))), null);
+
+        webTestClient.post().uri("/cases")
+                .bodyValue(caseObj)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.caseId").isEqualTo("789")
+                .jsonPath("$.labels[0].code").isEqualTo("B001");
+
+        assertEquals(3, caseRepository.count());
+        assertEquals("Label 2", labelCatalogue.find("B001").orElseThrow().getDescription());
+    }
+
+    @Test
+    public void testCreateCaseAgainAfterLabellingIt() {
+        webTestClient.post().uri("/cases/456/labels")
+                .bodyValue(new Label("A001", "Label 1"))
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.post().uri("/cases")
+                .bodyValue(new Case("456", "Case 2 Again", 4L, new ArrayList<>(List.of(new Label("B001", "Label 2"))), null))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.caseDescription").isEqualTo("Case 2 Again")
+                .jsonPath("$.labels.length()").isEqualTo(1)
+                .jsonPath("$.labels[0].code").isEqualTo("B001");
+    }
+
+    @Test
+    public void testGetCaseById() {
+        webTestClient.get().uri("/cases/123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.caseDescription").isEqualTo("Case 1")
+                .jsonPath("$.labels[0].code").isEqualTo("A001");
+
+        webTestClient.get().uri("/cases/999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testStreamAllCases() {
+        Flux<Case> cases = webTestClient.get().uri("/cases")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Case.class)
+                .getResponseBody();
+
+        StepVerifier.create(cases.map(Case::getCaseId))
+                .expectNext("123", "456")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetCasesByLabel() {
+        webTestClient.get().uri("/cases?label=A001")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].caseId").isEqualTo("123");
+
+        webTestClient.get().uri("/cases?label=Z999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testGetCasesPage() {
+        webTestClient.get().uri("/cases?size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].caseId").isEqualTo("123")
+                .jsonPath("$.nextCursor").isEqualTo("123");
+    }
+
+    @Test
+    public void testAddAndDeleteLabelInCase() {
+        webTestClient.post().uri("/cases/456/labels")
+                .bodyValue(new Label("A001", "Label 1"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.labels[0].code").isEqualTo("A001");
+
+        webTestClient.delete().uri("/cases/456/labels/A001")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/cases/456")
+                .exchange()
+                .expectBody()
+                .jsonPath("$.labels.length()").isEqualTo(0);
+    }
+
+    @Test
+    public void testAssignLabels() {
+        webTestClient.post().uri("/cases/labels:batch")
+                .bodyValue(List.of(new CaseLabelPair("456", "A001"), new CaseLabelPair("999", "A001")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(LabelAssignmentResult.class)
+                .isEqualTo(List.of(
+                        new LabelAssignmentResult("456", "A001", LabelAssignmentResult.Status.APPLIED),
+                        new LabelAssignmentResult("999", "A001", LabelAssignmentResult.Status.UNKNOWN_CASE)));
+    }
+
+    @Test
+    public void testLabels() {
+        webTestClient.post().uri("/labels")
+                .bodyValue(new Label("B001", "Label 2"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get().uri("/labels/search?prefix=b")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Label.class)
+                .isEqualTo(List.of(new Label("B001", "Label 2")));
+
+        webTestClient.delete().uri("/labels/B001")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/labels/B001")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,77 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.config.CacheConfig;
+import com.cocus.doctorLablling.config.CacheNames;
+import com.cocus.doctorLablling.config.TieredCacheProperties;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheConfigTest {
+
+    private CacheManager cacheManager;
+
+    @AfterEach
+    public void tearDown() {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    public void testAllApplicationCachesAreCreated() {
+        cacheManager = new CacheConfig().jCacheCacheManager(new TieredCacheProperties());
+
+        List<String> cacheNames = new ArrayList<>();
+        cacheManager.getCacheNames().forEach(cacheNames::add);
+
+        assertTrue(cacheNames.containsAll(List.of(CacheNames.CASE, CacheNames.CASES_BY_LABEL)));
+    }
+
+    @Test
+    public void testCasesOverflowingTheHeapAreServedFromOffHeap() {
+        TieredCacheProperties properties = new TieredCacheProperties();
+        properties.setCaseEntity(new TieredCacheProperties.Tiers(1, DataSize.ofMegabytes(1), DataSize.ofBytes(0), Duration.ofMinutes(1)));
+        cacheManager = new CacheConfig().jCacheCacheManager(properties);
+        Cache<Object, Object> cache = cacheManager.getCache(CacheNames.CASE);
+
+        for (int i = 0; i < 10; i++) {
+            Case caseObj = new Case("case-" + i, "Case " + i, 12345L, new ArrayList<>(), LocalDateTime.now());
+            caseObj.getLabels().add(new Label("A" + i, "Label " + i));
+            cache.put(caseObj.getCaseId(), caseObj);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            Case cached = (Case) cache.get("case-" + i);
+            assertNotNull(cached);
+            assertEquals("Label " + i, cached.getLabels().get(0).getDescription());
+        }
+    }
+
+    @Test
+    public void testDiskTierIsUsedWhenEnabled(@TempDir Path directory) {
+        TieredCacheProperties properties = new TieredCacheProperties();
+        properties.getDisk().setEnabled(true);
+        properties.getDisk().setDirectory(directory.toString());
+        properties.setCaseEntity(new TieredCacheProperties.Tiers(1, DataSize.ofMegabytes(1), DataSize.ofMegabytes(8), Duration.ofMinutes(1)));
+        cacheManager = new CacheConfig().jCacheCacheManager(properties);
+        Cache<Object, Object> cache = cacheManager.getCache(CacheNames.CASE);
+
+        cache.put("5555", new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now()));
+
+        assertEquals("Case Description", ((Case) cache.get("5555")).getCaseDescription());
+    }
+}
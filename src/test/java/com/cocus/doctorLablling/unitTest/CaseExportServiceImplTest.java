@@ -0,0 +1,78 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.dto.CaseExportFilter;
+import com.cocus.doctorLablling.dto.CaseExportRow;
+import com.cocus.doctorLablling.repository.CaseExportRepository;
+import com.cocus.doctorLablling.service.CaseExportService;
+import com.cocus.doctorLablling.service.CaseExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CaseExportServiceImplTest {
+
+    @InjectMocks
+    private CaseExportServiceImpl caseExportService;
+
+    @Mock
+    private CaseExportRepository caseExportRepository;
+
+    private final CaseExportFilter filter = new CaseExportFilter();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(caseExportService, "objectMapper",
+                new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        ReflectionTestUtils.setField(caseExportService, "fetchSize", 100);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        doAnswer(invocation -> {
+            Consumer<CaseExportRow> consumer = invocation.getArgument(2);
+            consumer.accept(new CaseExportRow("5555", "Plain", 12345L, createdAt, createdAt, createdAt, List.of("1", "2")));
+            consumer.accept(new CaseExportRow("6666", "Has \"quotes\", commas", 67890L, createdAt, null, null, List.of()));
+            return null;
+        }).when(caseExportRepository).forEachCase(Mockito.eq(filter), Mockito.eq(100), Mockito.any());
+    }
+
+    @Test
+    public void testExportNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        caseExportService.exportCases(filter, CaseExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"caseId\":\"5555\""));
+        assertTrue(lines[0].endsWith("\"labels\":[\"1\",\"2\"]}"));
+        assertTrue(lines[1].startsWith("{\"caseId\":\"6666\""));
+    }
+
+    @Test
+    public void testExportCsv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        caseExportService.exportCases(filter, CaseExportService.Format.CSV, out);
+
+        assertEquals("case_id,case_description,doctor_id,created_at,first_labelled_at,time_to_label,labels\r\n"
+                        + "5555,Plain,12345,2024-01-02T03:04:05,2024-01-02T03:04:05,2024-01-02T03:04:05,1|2\r\n"
+                        + "6666,\"Has \"\"quotes\"\", commas\",67890,2024-01-02T03:04:05,,,\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
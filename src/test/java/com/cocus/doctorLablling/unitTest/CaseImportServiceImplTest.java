@@ -0,0 +1,128 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.dto.CaseImportResult;
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.LabelEvent;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.CaseRepository;
+import com.cocus.doctorLablling.repository.LabelEventRepository;
+import com.cocus.doctorLablling.repository.LabelRepository;
+import com.cocus.doctorLablling.repository.LabelStatsRepository;
+import com.cocus.doctorLablling.service.CaseImportServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CaseImportServiceImplTest {
+
+    @InjectMocks
+    private CaseImportServiceImpl caseImportService;
+
+    @Mock
+    private CaseRepository caseRepository;
+
+    @Mock
+    private LabelRepository labelRepository;
+
+    @Mock
+    private LabelEventRepository labelEventRepository;
+
+    @Mock
+    private LabelStatsRepository labelStatsRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ReflectionTestUtils.setField(caseImportService, "chunkSize", 2);
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(Mockito.any());
+    }
+
+    @Test
+    public void testImportCasesReportsEachCase() {
+        Case newCase = new Case("5555", "Case 1", 12345L, new ArrayList<>(List.of(new Label("A001", null))), null);
+        Case existingCase = new Case("6666", "Case 2", 12345L, new ArrayList<>(), null);
+        Case invalidCase = new Case("7777", null, 12345L, new ArrayList<>(), null);
+        Case unknownLabelCase = new Case("8888", "Case 4", 12345L, new ArrayList<>(List.of(new Label("Z999", null))), null);
+        Label knownLabel = new Label("A001", "Label 1");
+
+        when(caseRepository.findExistingIds(Mockito.any())).thenAnswer(invocation -> {
+            Set<String> caseIds = invocation.getArgument(0);
+            return caseIds.contains("6666") ? List.of("6666") : List.of();
+        });
+        when(labelRepository.findAllById(Mockito.any())).thenReturn(List.of(knownLabel));
+
+        List<CaseImportResult> results = caseImportService.importCases(
+                List.of(newCase, existingCase, invalidCase, unknownLabelCase).iterator());
+
+        assertEquals(4, results.size());
+        assertEquals(CaseImportResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(CaseImportResult.Status.DUPLICATE, results.get(1).getStatus());
+        assertEquals(CaseImportResult.Status.INVALID, results.get(2).getStatus());
+        assertEquals(CaseImportResult.Status.INVALID, results.get(3).getStatus());
+        verify(entityManager, times(1)).persist(newCase);
+        assertSame(knownLabel, newCase.getLabels().get(0));
+        assertNotNull(newCase.getTimeToLabel());
+        // two chunks of two cases, each in its own transaction
+        verify(transactionTemplate, times(2)).executeWithoutResult(Mockito.any());
+        verify(entityManager, times(2)).flush();
+        verify(labelStatsRepository).labelsAdded(List.of(new CaseLabelPair("5555", "A001")));
+    }
+
+    @Test
+    public void testImportCasesRejectsDuplicateIdsInTheSameRequest() {
+        Case first = new Case("5555", "Case 1", 12345L, new ArrayList<>(), LocalDateTime.now());
+        Case second = new Case("5555", "Case 1 again", 12345L, new ArrayList<>(), LocalDateTime.now());
+
+        when(caseRepository.findExistingIds(Mockito.any())).thenReturn(List.of());
+
+        List<CaseImportResult> results = caseImportService.importCases(List.of(first, second).iterator());
+
+        assertEquals(CaseImportResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(CaseImportResult.Status.DUPLICATE, results.get(1).getStatus());
+        verify(entityManager, times(1)).persist(Mockito.any());
+        verify(labelEventRepository).appendAll(LabelEvent.Type.CASE_CREATED, List.of(new CaseLabelPair("5555", null)));
+    }
+
+    @Test
+    public void testImportCasesMarksChunkFailedWhenFlushFails() {
+        Case first = new Case("5555", "Case 1", 12345L, new ArrayList<>(), LocalDateTime.now());
+        Case second = new Case("6666", "Case 2", 12345L, new ArrayList<>(), LocalDateTime.now());
+
+        when(caseRepository.findExistingIds(Mockito.any())).thenReturn(List.of());
+        doThrow(new PersistenceException("duplicate key")).when(entityManager).flush();
+
+        List<CaseImportResult> results = caseImportService.importCases(List.of(first, second).iterator());
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == CaseImportResult.Status.FAILED));
+    }
+}
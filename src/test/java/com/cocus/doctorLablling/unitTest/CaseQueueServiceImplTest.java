@@ -0,0 +1,74 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.dto.CaseLease;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.repository.CaseRepository;
+import com.cocus.doctorLablling.service.CaseQueueServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CaseQueueServiceImplTest {
+
+    @InjectMocks
+    private CaseQueueServiceImpl caseQueueService;
+
+    @Mock
+    private CaseRepository caseRepository;
+
+    private final Case unlabelledCase = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(caseQueueService, "leaseTtl", Duration.ofMinutes(15));
+    }
+
+    @Test
+    public void testLeaseNextCase_RenewsTheLeaseHeld() {
+        when(caseRepository.renewLease(Mockito.eq(7L), Mockito.any(), Mockito.any())).thenReturn(List.of("5555"));
+        when(caseRepository.findById("5555")).thenReturn(Optional.of(unlabelledCase));
+
+        Optional<CaseLease> lease = caseQueueService.leaseNextCase(7L);
+
+        assertTrue(lease.isPresent());
+        assertSame(unlabelledCase, lease.get().getMedicalCase());
+        verify(caseRepository, never()).leaseNext(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testLeaseNextCase_LeasesTheNextCase() {
+        when(caseRepository.renewLease(Mockito.eq(7L), Mockito.any(), Mockito.any())).thenReturn(List.of());
+        when(caseRepository.leaseNext(Mockito.eq(7L), Mockito.any(), Mockito.any())).thenReturn(List.of("5555"));
+        when(caseRepository.findById("5555")).thenReturn(Optional.of(unlabelledCase));
+
+        Optional<CaseLease> lease = caseQueueService.leaseNextCase(7L);
+
+        assertTrue(lease.isPresent());
+        assertEquals("5555", lease.get().getMedicalCase().getCaseId());
+        assertTrue(lease.get().getLeasedUntil().isAfter(LocalDateTime.now().plusMinutes(14)));
+    }
+
+    @Test
+    public void testLeaseNextCase_EmptyQueue() {
+        when(caseRepository.renewLease(Mockito.eq(7L), Mockito.any(), Mockito.any())).thenReturn(List.of());
+        when(caseRepository.leaseNext(Mockito.eq(7L), Mockito.any(), Mockito.any())).thenReturn(List.of());
+
+        assertFalse(caseQueueService.leaseNextCase(7L).isPresent());
+        verify(caseRepository, never()).findById(Mockito.any());
+    }
+}
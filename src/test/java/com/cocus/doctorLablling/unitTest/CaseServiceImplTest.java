@@ -1,20 +1,45 @@
 package com.cocus.doctorLablling.unitTest;
 
+import com.cocus.doctorLablling.config.CacheNames;
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.CaseLabellingTimes;
+import com.cocus.doctorLablling.dto.CaseSearchHit;
+import com.cocus.doctorLablling.dto.CursorPage;
+import com.cocus.doctorLablling.dto.DoctorCaseKey;
+import com.cocus.doctorLablling.dto.LabelAssignmentResult;
+import com.cocus.doctorLablling.dto.LabelEvent;
+import com.cocus.doctorLablling.dto.LabelsJson;
+import com.cocus.doctorLablling.exception.BadRequestException;
+import com.cocus.doctorLablling.exception.PreconditionFailedException;
 import com.cocus.doctorLablling.model.Case;
 import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.CaseLabelRepository;
 import com.cocus.doctorLablling.repository.CaseRepository;
+import com.cocus.doctorLablling.repository.CaseSearchRepository;
+import com.cocus.doctorLablling.repository.LabelEventRepository;
+import com.cocus.doctorLablling.repository.LabelRepository;
+import com.cocus.doctorLablling.repository.LabelStatsRepository;
 import com.cocus.doctorLablling.service.CaseServiceImpl;
+import com.cocus.doctorLablling.service.LabelCatalogue;
+import com.cocus.doctorLablling.service.LabelSearchIndex;
+import com.cocus.doctorLablling.service.LabellingMetrics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,11 +53,35 @@ public class CaseServiceImplTest {
     @Mock
     private CaseRepository caseRepository;
 
+    @Mock
+    private CaseLabelRepository caseLabelRepository;
+
+    @Mock
+    private LabelRepository labelRepository;
+
+    @Mock
+    private LabelEventRepository labelEventRepository;
+
+    @Mock
+    private LabelStatsRepository labelStatsRepository;
+
+    @Mock
+    private CaseSearchRepository caseSearchRepository;
+
+    @Mock
+    private LabelCatalogue labelCatalogue;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private LabellingMetrics labellingMetrics;
+
     @Test
     public void testCreateCase() {
         Case caseObj = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
 
-        when(caseRepository.save(Mockito.any())).thenReturn(caseObj);
+        when(caseRepository.saveAndFlush(Mockito.any())).thenReturn(caseObj);
 
         Case createdCase = caseService.createCase(caseObj);
 
@@ -41,7 +90,54 @@ public class CaseServiceImplTest {
         assertEquals("Case Description", createdCase.getCaseDescription());
         assertEquals(12345L, createdCase.getDoctorId());
         assertNotNull(createdCase.getTimeToLabel());
+        assertEquals(createdCase.getTimeToLabel(), createdCase.getCreatedAt());
+        assertNull(createdCase.getFirstLabelledAt());
         assertTrue(createdCase.getLabels().isEmpty());
+        verify(labelEventRepository).append(LabelEvent.Type.CASE_CREATED, "5555", null);
+        verify(labelStatsRepository).labelsAdded(List.of());
+    }
+
+    @Test
+    public void testCreateCaseAgainOverwritesItAndRecountsItsLabels() {
+        Case existingCase = new Case("5555", "Old Description", 1L, new ArrayList<>(List.of(new Label("1", "Label 1"))), LocalDateTime.now());
+        existingCase.setVersion(3L);
+        Case caseObj = new Case("5555", "Case Description", 12345L, new ArrayList<>(List.of(new Label("2", "Label 2"))), null);
+
+        when(caseRepository.findById("5555")).thenReturn(Optional.of(existingCase));
+        when(caseRepository.saveAndFlush(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Case createdCase = caseService.createCase(caseObj);
+
+        // The case loaded is saved, so that its version is the one checked.
+        assertSame(existingCase, createdCase);
+        assertEquals("Case Description", createdCase.getCaseDescription());
+        assertEquals(12345L, createdCase.getDoctorId());
+        assertEquals(List.of(new Label("2", "Label 2")), createdCase.getLabels());
+        assertEquals(3L, createdCase.getVersion());
+        verify(labelStatsRepository).labelsRemoved(List.of(new CaseLabelPair("5555", "1")));
+        verify(labelStatsRepository).labelsAdded(List.of(new CaseLabelPair("5555", "2")));
+    }
+
+    @Test
+    public void testCreateCaseRegistersTheLabelsItWrites() {
+        Label known = new Label("1", "Label 1");
+        Label created = new Label("2", "Label 2");
+        Label overwritten = new Label("3", "New Label 3");
+        Case caseObj = new Case("5555", "Case Description", 12345L, new ArrayList<>(List.of(known, created, overwritten)), LocalDateTime.now());
+        Cache caseCache = mock(Cache.class);
+
+        when(caseRepository.saveAndFlush(Mockito.any())).thenReturn(caseObj);
+        when(labelCatalogue.find("1")).thenReturn(Optional.of(new Label("1", "Label 1")));
+        when(labelCatalogue.find("2")).thenReturn(Optional.empty());
+        when(labelCatalogue.find("3")).thenReturn(Optional.of(new Label("3", "Label 3")));
+        when(labelCatalogue.contains("2")).thenReturn(false);
+        when(labelCatalogue.contains("3")).thenReturn(true);
+        when(cacheManager.getCache(CacheNames.CASE)).thenReturn(caseCache);
+
+        caseService.createCase(caseObj);
+
+        verify(labelCatalogue).putAll(List.of(created, overwritten));
+        verify(caseCache).clear();
     }
 
     @Test
@@ -49,10 +145,14 @@ public class CaseServiceImplTest {
         Case existingCase = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
         Label label = new Label("2", "Label Description");
 
+        existingCase.getLabels().add(label);
+
+        Mockito.when(caseRepository.existsById("5555")).thenReturn(true);
+        Mockito.when(labelCatalogue.contains("2")).thenReturn(true);
+        Mockito.when(caseLabelRepository.insert("5555", "2")).thenReturn(true);
         Mockito.when(caseRepository.findById("5555")).thenReturn(Optional.of(existingCase));
-        Mockito.when(caseRepository.save(Mockito.any())).thenReturn(existingCase);
 
-        Optional<Case> updatedCase = caseService.createNewLabelInCase("5555", label);
+        Optional<Case> updatedCase = caseService.createNewLabelInCase("5555", label, null);
 
         assertTrue(updatedCase.isPresent());
         assertEquals("5555", updatedCase.get().getCaseId());
@@ -60,17 +160,54 @@ public class CaseServiceImplTest {
         assertEquals(12345L, updatedCase.get().getDoctorId());
         assertNotNull(updatedCase.get().getTimeToLabel());
         assertTrue(updatedCase.get().getLabels().contains(label));
+        verify(caseRepository).updateTimeToLabel(Mockito.eq(List.of("5555")), Mockito.any());
+        verify(caseRepository, never()).save(Mockito.any());
+        verify(labelRepository, never()).saveAndFlush(Mockito.any());
+        verify(labellingMetrics).labelApplied("2");
+        verify(labelEventRepository).append(LabelEvent.Type.LABEL_ADDED, "5555", "2");
+        verify(labelStatsRepository).labelsAdded(List.of(new CaseLabelPair("5555", "2")));
+    }
+
+    @Test
+    public void testCreateNewLabelInCase_NewLabel() {
+        Label label = new Label("2", "Label Description");
+
+        Mockito.when(caseRepository.existsById("5555")).thenReturn(true);
+        Mockito.when(labelCatalogue.contains("2")).thenReturn(false);
+        Mockito.when(labelRepository.saveAndFlush(label)).thenReturn(label);
+        Mockito.when(caseLabelRepository.insert("5555", "2")).thenReturn(true);
+
+        caseService.createNewLabelInCase("5555", label, null);
+
+        verify(labelRepository).saveAndFlush(label);
+        verify(labelCatalogue).put(label);
+    }
+
+    @Test
+    public void testCreateNewLabelInCase_LabelAlreadyInCase() {
+        Case existingCase = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
+
+        Mockito.when(caseRepository.existsById("5555")).thenReturn(true);
+        Mockito.when(labelCatalogue.contains("2")).thenReturn(true);
+        Mockito.when(caseLabelRepository.insert("5555", "2")).thenReturn(false);
+        Mockito.when(caseRepository.findById("5555")).thenReturn(Optional.of(existingCase));
+
+        assertTrue(caseService.createNewLabelInCase("5555", new Label("2", "Label Description"), null).isPresent());
+        verify(caseRepository, never()).updateTimeToLabel(Mockito.any(), Mockito.any());
+        verifyNoInteractions(labellingMetrics);
+        verifyNoInteractions(labelEventRepository);
     }
 
     @Test
     public void testCreateNewLabelInCase_NonExistingCase() {
         Label label = new Label("2", "Label Description");
 
-        Mockito.when(caseRepository.findById("5555")).thenReturn(Optional.empty());
+        Mockito.when(caseRepository.existsById("5555")).thenReturn(false);
 
-        Optional<Case> updatedCase = caseService.createNewLabelInCase("5555", label);
+        Optional<Case> updatedCase = caseService.createNewLabelInCase("5555", label, null);
 
         assertFalse(updatedCase.isPresent());
+        verifyNoInteractions(caseLabelRepository);
     }
 
     @Test
@@ -95,6 +232,113 @@ public class CaseServiceImplTest {
         // Add more assertions for the content of the cases list as needed
     }
 
+    @Test
+    public void testGetCasesPage_FullPageHasNextCursor() {
+        ReflectionTestUtils.setField(caseService, "maxPageSize", 1000);
+        List<Case> mockCases = new ArrayList<>();
+        mockCases.add(new Case("5555", "Case 1", 12345L, new ArrayList<>(), LocalDateTime.now()));
+        mockCases.add(new Case("6666", "Case 2", 67890L, new ArrayList<>(), LocalDateTime.now()));
+
+        Mockito.when(caseRepository.findIdsAfter("", PageRequest.of(0, 2))).thenReturn(List.of("5555", "6666"));
+        Mockito.when(caseRepository.findWithLabelsByCaseIdIn(List.of("5555", "6666"))).thenReturn(mockCases);
+
+        CursorPage<Case> page = caseService.getCasesPage(null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals("6666", page.getNextCursor());
+    }
+
+    @Test
+    public void testGetCasesPageByDoctorId_KeepsTheIndexOrder() {
+        ReflectionTestUtils.setField(caseService, "maxPageSize", 1000);
+        LocalDateTime labelledAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        DoctorCaseKey first = doctorCaseKey("6666", labelledAt);
+        DoctorCaseKey second = doctorCaseKey("5555", labelledAt.plusSeconds(1));
+        Case case5555 = new Case("5555", "Case 1", 12345L, new ArrayList<>(), labelledAt.plusSeconds(1));
+        Case case6666 = new Case("6666", "Case 2", 12345L, new ArrayList<>(), labelledAt);
+
+        Mockito.when(caseRepository.findKeysByDoctorIdAfter(12345L, labelledAt.minusDays(1), "1111", 2))
+                .thenReturn(List.of(first, second));
+        Mockito.when(caseRepository.findWithLabelsByCaseIdIn(List.of("6666", "5555"))).thenReturn(List.of(case5555, case6666));
+
+        CursorPage<Case> page = caseService.getCasesPageByDoctorId(12345L, labelledAt.minusDays(1) + "_1111", 2);
+
+        assertEquals(List.of(case6666, case5555), page.getItems());
+        assertEquals("2024-01-02T03:04:06_5555", page.getNextCursor());
+    }
+
+    @Test
+    public void testGetCasesPageByDoctorId_InvalidCursor() {
+        ReflectionTestUtils.setField(caseService, "maxPageSize", 1000);
+
+        assertThrows(BadRequestException.class, () -> caseService.getCasesPageByDoctorId(12345L, "not-a-cursor", 2));
+        verifyNoInteractions(caseRepository);
+    }
+
+    @Test
+    public void testSearchCases_RankedPage() {
+        ReflectionTestUtils.setField(caseService, "maxPageSize", 1000);
+        Case case5555 = new Case("5555", "Fracture of the left wrist", 12345L, new ArrayList<>(), LocalDateTime.now());
+        Case case6666 = new Case("6666", "Wrist fracture, wrist swelling", 12345L, new ArrayList<>(), LocalDateTime.now());
+
+        Mockito.when(caseSearchRepository.search("wrist", 12345L, "A001", new CaseSearchHit(0.5f, "1111"), 2))
+                .thenReturn(List.of(new CaseSearchHit(0.25f, "6666"), new CaseSearchHit(0.125f, "5555")));
+        Mockito.when(caseRepository.findWithLabelsByCaseIdIn(List.of("6666", "5555"))).thenReturn(List.of(case5555, case6666));
+
+        CursorPage<Case> page = caseService.searchCases("wrist", 12345L, "A001", "0.5_1111", 2);
+
+        assertEquals(List.of(case6666, case5555), page.getItems());
+        assertEquals("0.125_5555", page.getNextCursor());
+    }
+
+    @Test
+    public void testSearchCases_BlankQuery() {
+        assertThrows(BadRequestException.class, () -> caseService.searchCases(" ", null, null, null, 20));
+        verifyNoInteractions(caseSearchRepository);
+    }
+
+    private static DoctorCaseKey doctorCaseKey(String caseId, LocalDateTime timeToLabel) {
+        return new DoctorCaseKey() {
+            @Override
+            public String getCaseId() {
+                return caseId;
+            }
+
+            @Override
+            public LocalDateTime getTimeToLabel() {
+                return timeToLabel;
+            }
+        };
+    }
+
+    @Test
+    public void testGetCasesPage_LastPageAndSizeCappedToMax() {
+        ReflectionTestUtils.setField(caseService, "maxPageSize", 10);
+        List<Case> mockCases = new ArrayList<>();
+        mockCases.add(new Case("6666", "Case 2", 67890L, new ArrayList<>(), LocalDateTime.now()));
+
+        Mockito.when(caseRepository.findIdsAfter("5555", PageRequest.of(0, 10))).thenReturn(List.of("6666"));
+        Mockito.when(caseRepository.findWithLabelsByCaseIdIn(List.of("6666"))).thenReturn(mockCases);
+
+        CursorPage<Case> page = caseService.getCasesPage("5555", 500);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void testGetCasesPage_EmptyPageSkipsLabelQuery() {
+        ReflectionTestUtils.setField(caseService, "maxPageSize", 1000);
+
+        Mockito.when(caseRepository.findIdsAfter("6666", PageRequest.of(0, 2))).thenReturn(List.of());
+
+        CursorPage<Case> page = caseService.getCasesPage("6666", 2);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        verify(caseRepository, never()).findWithLabelsByCaseIdIn(Mockito.any());
+    }
+
     @Test
     public void testGetCaseById_ExistingId() {
         Case caseObj = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
@@ -129,7 +373,8 @@ public class CaseServiceImplTest {
         mockCases.add(new Case("5555", "Case 1", 12345L, new ArrayList<>(), LocalDateTime.now()));
         mockCases.add(new Case("6666", "Case 2", 67890L, new ArrayList<>(), LocalDateTime.now()));
 
-        Mockito.when(caseRepository.findByLabelCode("labelCode")).thenReturn(mockCases);
+        Mockito.when(caseRepository.findCaseIdsByLabelCode("labelCode")).thenReturn(List.of("5555", "6666"));
+        Mockito.when(caseRepository.findWithLabelsByCaseIdIn(List.of("5555", "6666"))).thenReturn(mockCases);
 
         List<Case> cases = caseService.getCasesByLabelCode("labelCode");
 
@@ -145,26 +390,123 @@ public class CaseServiceImplTest {
     }
 
     @Test
-    public void testDeleteLabelInCase_ExistingCaseAndLabel() {
-        Case caseObj = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
-        Label label = new Label("2", "Label Description");
-        caseObj.getLabels().add(label);
+    public void testGetCasesPageByLabelCode() {
+        ReflectionTestUtils.setField(caseService, "maxPageSize", 1000);
+        List<Case> mockCases = new ArrayList<>();
+        mockCases.add(new Case("6666", "Case 2", 67890L, new ArrayList<>(), LocalDateTime.now()));
+
+        Mockito.when(caseRepository.findCaseIdsByLabelCodeAfter("labelCode", "5555", 1)).thenReturn(List.of("6666"));
+        Mockito.when(caseRepository.findWithLabelsByCaseIdIn(List.of("6666"))).thenReturn(mockCases);
+
+        CursorPage<Case> page = caseService.getCasesPageByLabelCode("labelCode", "5555", 1);
 
-        Mockito.when(caseRepository.findById("5555")).thenReturn(Optional.of(caseObj));
-        Mockito.when(caseRepository.save(Mockito.any())).thenReturn(caseObj);
+        assertEquals(1, page.getItems().size());
+        assertEquals("6666", page.getNextCursor());
+    }
+
+    @Test
+    public void testDeleteLabelInCase_ExistingCaseAndLabel() {
+        Mockito.when(caseRepository.existsById("5555")).thenReturn(true);
+        Mockito.when(caseLabelRepository.delete("5555", "2")).thenReturn(true);
 
-        boolean deleted = caseService.deleteLabelInCase("5555", "2");
+        boolean deleted = caseService.deleteLabelInCase("5555", "2", null);
 
         assertTrue(deleted);
-        assertFalse(caseObj.getLabels().contains(label));
+        verify(caseLabelRepository).delete("5555", "2");
+        verify(caseRepository).incrementVersion("5555");
+        verify(caseRepository, never()).findById(Mockito.any());
+        verify(caseRepository, never()).save(Mockito.any());
+        verify(labelEventRepository).append(LabelEvent.Type.LABEL_REMOVED, "5555", "2");
+        verify(labelStatsRepository).labelsRemoved(List.of(new CaseLabelPair("5555", "2")));
     }
 
     @Test
     public void testDeleteLabelInCase_NonExistingCase() {
-        Mockito.when(caseRepository.findById("5555")).thenReturn(Optional.empty());
+        Mockito.when(caseRepository.existsById("5555")).thenReturn(false);
 
-        boolean deleted = caseService.deleteLabelInCase("5555", "2");
+        boolean deleted = caseService.deleteLabelInCase("5555", "2", null);
 
         assertFalse(deleted);
+        verifyNoInteractions(caseLabelRepository);
+    }
+
+    @Test
+    public void testAssignLabels() {
+        List<CaseLabelPair> pairs = List.of(
+                new CaseLabelPair("5555", "1"),
+                new CaseLabelPair("5555", "2"),
+                new CaseLabelPair("6666", "1"),
+                new CaseLabelPair("7777", "1"),
+                new CaseLabelPair("5555", "9"),
+                new CaseLabelPair("5555", "1"));
+
+        Mockito.when(caseRepository.findExistingIds(List.of("5555", "6666", "7777"))).thenReturn(List.of("5555", "6666"));
+        List<Label> labels = List.of(new Label("1", "Label 1"), new Label("2", "Label 2"));
+        Mockito.when(labelCatalogue.getSnapshot()).thenReturn(new LabelCatalogue.Snapshot(
+                Map.of("1", labels.get(0), "2", labels.get(1)), labels, LabelsJson.of(new byte[0]), new LabelSearchIndex(labels)));
+        Mockito.when(caseLabelRepository.insertAll(Mockito.anyCollection()))
+                .thenReturn(List.of(new CaseLabelPair("5555", "1"), new CaseLabelPair("6666", "1")));
+
+        List<LabelAssignmentResult> results = caseService.assignLabels(pairs);
+
+        assertEquals(List.of(
+                LabelAssignmentResult.Status.APPLIED,
+                LabelAssignmentResult.Status.ALREADY_PRESENT,
+                LabelAssignmentResult.Status.APPLIED,
+                LabelAssignmentResult.Status.UNKNOWN_CASE,
+                LabelAssignmentResult.Status.UNKNOWN_LABEL,
+                LabelAssignmentResult.Status.ALREADY_PRESENT), results.stream().map(LabelAssignmentResult::getStatus).toList());
+        verify(caseLabelRepository).insertAll(Mockito.argThat(inserted -> new ArrayList<>(inserted).equals(List.of(
+                new CaseLabelPair("5555", "1"), new CaseLabelPair("5555", "2"), new CaseLabelPair("6666", "1")))));
+        verify(caseRepository).updateTimeToLabel(Mockito.eq(Set.of("5555", "6666")), Mockito.any());
+        verify(labellingMetrics, times(2)).labelApplied("1");
+        verify(labelEventRepository).appendAll(Mockito.eq(LabelEvent.Type.LABEL_ADDED), Mockito.anyCollection());
+        verify(labelStatsRepository).labelsAdded(Mockito.anyCollection());
+    }
+
+    @Test
+    public void testCreateNewLabelInCase_MatchingVersion() {
+        Case existingCase = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now(), null, null, 4L);
+
+        Mockito.when(caseRepository.existsById("5555")).thenReturn(true);
+        Mockito.when(caseRepository.updateTimeToLabel(Mockito.eq("5555"), Mockito.any(), Mockito.eq(3L)))
+                .thenReturn(List.of(mock(CaseLabellingTimes.class)));
+        Mockito.when(labelCatalogue.contains("2")).thenReturn(true);
+        Mockito.when(caseLabelRepository.insert("5555", "2")).thenReturn(true);
+        Mockito.when(caseRepository.findById("5555")).thenReturn(Optional.of(existingCase));
+
+        assertEquals(Optional.of(existingCase), caseService.createNewLabelInCase("5555", new Label("2", "Label Description"), 3L));
+        verify(caseRepository, never()).updateTimeToLabel(Mockito.anyCollection(), Mockito.any());
+        verify(labellingMetrics).labelled(Mockito.argThat(labelled -> labelled.size() == 1));
+    }
+
+    @Test
+    public void testCreateNewLabelInCase_StaleVersion() {
+        Mockito.when(caseRepository.existsById("5555")).thenReturn(true);
+        Mockito.when(caseRepository.updateTimeToLabel(Mockito.eq("5555"), Mockito.any(), Mockito.eq(3L))).thenReturn(List.of());
+
+        assertThrows(PreconditionFailedException.class,
+                () -> caseService.createNewLabelInCase("5555", new Label("2", "Label Description"), 3L));
+        verifyNoInteractions(caseLabelRepository, labelRepository);
+    }
+
+    @Test
+    public void testDeleteLabelInCase_StaleVersion() {
+        Mockito.when(caseRepository.existsById("5555")).thenReturn(true);
+        Mockito.when(caseRepository.incrementVersion("5555", 3L)).thenReturn(0);
+
+        assertThrows(PreconditionFailedException.class, () -> caseService.deleteLabelInCase("5555", "2", 3L));
+        verifyNoInteractions(caseLabelRepository);
+    }
+
+    @Test
+    public void testUpdateCase_StaleVersion() {
+        Case existingCase = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now(), null, null, 4L);
+        Mockito.when(caseRepository.findById("5555")).thenReturn(Optional.of(existingCase));
+
+        Case update = new Case("5555", "Updated Description", 67890L, new ArrayList<>(), null);
+        assertThrows(PreconditionFailedException.class, () -> caseService.updateCase("5555", update, 3L));
+        assertEquals("Case Description", existingCase.getCaseDescription());
+        verify(caseRepository, never()).saveAndFlush(Mockito.any());
     }
 }
@@ -0,0 +1,119 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.config.CacheNames;
+import com.cocus.doctorLablling.exception.PreconditionFailedException;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.CaseLabelRepository;
+import com.cocus.doctorLablling.repository.CaseRepository;
+import com.cocus.doctorLablling.repository.CaseSearchRepository;
+import com.cocus.doctorLablling.repository.LabelEventRepository;
+import com.cocus.doctorLablling.repository.LabelRepository;
+import com.cocus.doctorLablling.repository.LabelStatsRepository;
+import com.cocus.doctorLablling.service.CaseService;
+import com.cocus.doctorLablling.service.CaseServiceImpl;
+import com.cocus.doctorLablling.service.LabelCatalogue;
+import com.cocus.doctorLablling.service.LabellingMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Retries of label additions that lost a lock race, with the repositories mocked out.
+ */
+@SpringJUnitConfig
+public class CaseServiceRetryTest {
+
+    @Configuration
+    @EnableRetry
+    @Import(CaseServiceImpl.class)
+    static class RetryTestConfiguration {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheNames.CASE, CacheNames.CASES_BY_LABEL);
+        }
+    }
+
+    @MockBean
+    private CaseRepository caseRepository;
+
+    @MockBean
+    private LabelRepository labelRepository;
+
+    @MockBean
+    private CaseLabelRepository caseLabelRepository;
+
+    @MockBean
+    private LabelEventRepository labelEventRepository;
+
+    @MockBean
+    private LabelStatsRepository labelStatsRepository;
+
+    @MockBean
+    private CaseSearchRepository caseSearchRepository;
+
+    @MockBean
+    private LabelCatalogue labelCatalogue;
+
+    @MockBean
+    private LabellingMetrics labellingMetrics;
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CaseService caseService;
+
+    @Test
+    public void testLabelAdditionIsRetriedAfterLockFailure() {
+        Case caseObj = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
+        when(caseRepository.existsById("5555")).thenReturn(true);
+        when(labelCatalogue.contains("2")).thenReturn(true);
+        when(caseLabelRepository.insert("5555", "2"))
+                .thenThrow(new CannotAcquireLockException("deadlock detected"))
+                .thenReturn(true);
+        when(caseRepository.findById("5555")).thenReturn(Optional.of(caseObj));
+
+        assertEquals(Optional.of(caseObj), caseService.createNewLabelInCase("5555", new Label("2", "Label Description"), null));
+        verify(caseLabelRepository, times(2)).insert("5555", "2");
+    }
+
+    @Test
+    public void testLabelAdditionGivesUpAfterMaxAttempts() {
+        when(caseRepository.existsById("5555")).thenReturn(true);
+        when(labelCatalogue.contains("2")).thenReturn(true);
+        when(caseLabelRepository.insert("5555", "2")).thenThrow(new CannotAcquireLockException("deadlock detected"));
+
+        assertThrows(CannotAcquireLockException.class,
+                () -> caseService.createNewLabelInCase("5555", new Label("2", "Label Description"), null));
+        verify(caseLabelRepository, times(3)).insert("5555", "2");
+    }
+
+    @Test
+    public void testStaleVersionIsNotRetried() {
+        when(caseRepository.existsById("5555")).thenReturn(true);
+        when(caseRepository.updateTimeToLabel(Mockito.eq("5555"), Mockito.any(), Mockito.eq(3L))).thenReturn(List.of());
+
+        assertThrows(PreconditionFailedException.class,
+                () -> caseService.createNewLabelInCase("5555", new Label("2", "Label Description"), 3L));
+        verify(caseRepository, times(1)).updateTimeToLabel(Mockito.eq("5555"), Mockito.any(), Mockito.eq(3L));
+    }
+}
@@ -0,0 +1,72 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.dto.ChangeCursor;
+import com.cocus.doctorLablling.dto.ChangePage;
+import com.cocus.doctorLablling.dto.LabelEvent;
+import com.cocus.doctorLablling.exception.BadRequestException;
+import com.cocus.doctorLablling.repository.LabelEventRepository;
+import com.cocus.doctorLablling.service.ChangeFeedServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ChangeFeedServiceImplTest {
+
+    @InjectMocks
+    private ChangeFeedServiceImpl changeFeedService;
+
+    @Mock
+    private LabelEventRepository labelEventRepository;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(changeFeedService, "maxLimit", 2);
+    }
+
+    @Test
+    public void testGetChanges_FromStartWithMore() {
+        LabelEvent first = event("100-1", LabelEvent.Type.CASE_CREATED, null);
+        LabelEvent second = event("100-2", LabelEvent.Type.LABEL_ADDED, "A001");
+        LabelEvent third = event("101-3", LabelEvent.Type.LABEL_REMOVED, "A001");
+        when(labelEventRepository.findAfter(ChangeCursor.START, 3)).thenReturn(List.of(first, second, third));
+
+        ChangePage page = changeFeedService.getChanges(null, 50);
+
+        assertEquals(List.of(first, second), page.getItems());
+        assertEquals("100-2", page.getNextCursor());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    public void testGetChanges_NoNewEventKeepsCursor() {
+        when(labelEventRepository.findAfter(new ChangeCursor(101, 3), 2)).thenReturn(List.of());
+
+        ChangePage page = changeFeedService.getChanges("101-3", 1);
+
+        assertTrue(page.getItems().isEmpty());
+        assertEquals("101-3", page.getNextCursor());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    public void testGetChanges_InvalidCursor() {
+        assertThrows(BadRequestException.class, () -> changeFeedService.getChanges("abc", 10));
+        verify(labelEventRepository, never()).findAfter(Mockito.any(), Mockito.anyInt());
+    }
+
+    private static LabelEvent event(String cursor, LabelEvent.Type type, String labelCode) {
+        return new LabelEvent(cursor, type, "5555", labelCode, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,129 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.dto.LabelCount;
+import com.cocus.doctorLablling.dto.LabelsJson;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.LabelRepository;
+import com.cocus.doctorLablling.service.LabelCatalogue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LabelCatalogueTest {
+
+    @Mock
+    private LabelRepository labelRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private LabelCatalogue labelCatalogue;
+
+    @BeforeEach
+    public void setUp() {
+        when(labelRepository.findAll()).thenReturn(List.of(new Label("B", "Label B"), new Label("A", "Label A")));
+        labelCatalogue.reload();
+    }
+
+    @Test
+    public void testReloadSortsLabelsByCode() throws Exception {
+        assertEquals(List.of("A", "B"), labelCatalogue.findAll().stream().map(Label::getCode).toList());
+        assertEquals("Label B", labelCatalogue.find("B").get().getDescription());
+        assertFalse(labelCatalogue.find("C").isPresent());
+
+        Label[] json = objectMapper.readValue(labelCatalogue.findAllAsJson().json(), Label[].class);
+        assertEquals(List.of(new Label("A", "Label A"), new Label("B", "Label B")), List.of(json));
+
+        // the same catalogue has the same ETag, whichever instance serves it
+        String eTag = labelCatalogue.findAllAsJson().eTag();
+        labelCatalogue.reload();
+        assertEquals(eTag, labelCatalogue.findAllAsJson().eTag());
+    }
+
+    @Test
+    public void testPutReplacesTheSnapshot() throws Exception {
+        LabelCatalogue.Snapshot before = labelCatalogue.getSnapshot();
+
+        labelCatalogue.put(new Label("AA", "Label AA"));
+        labelCatalogue.put(new Label("B", "Updated Label B"));
+
+        assertEquals(List.of("A", "AA", "B"), labelCatalogue.findAll().stream().map(Label::getCode).toList());
+        assertEquals("Updated Label B", labelCatalogue.find("B").get().getDescription());
+        Label[] json = objectMapper.readValue(labelCatalogue.findAllAsJson().json(), Label[].class);
+        assertEquals("Updated Label B", json[2].getDescription());
+        assertNotEquals(before.json().eTag(), labelCatalogue.findAllAsJson().eTag());
+
+        // readers holding the previous snapshot keep a consistent view
+        assertEquals(2, before.labels().size());
+        assertEquals("Label B", before.labelsByCode().get("B").getDescription());
+    }
+
+    @Test
+    public void testGzippedJson() throws Exception {
+        LabelsJson labelsJson = labelCatalogue.findAllAsJson();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(labelsJson.gzipped()))) {
+            assertArrayEquals(labelsJson.json(), gzip.readAllBytes());
+        }
+        assertSame(labelsJson.gzipped(), labelsJson.gzipped());
+        assertNotEquals(labelsJson.eTag(), labelsJson.gzippedETag());
+
+        assertTrue(LabelsJson.acceptsGzip("gzip, deflate, br"));
+        assertTrue(LabelsJson.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(LabelsJson.acceptsGzip("*"));
+        assertFalse(LabelsJson.acceptsGzip("gzip;q=0"));
+        assertFalse(LabelsJson.acceptsGzip("identity"));
+        assertFalse(LabelsJson.acceptsGzip(null));
+    }
+
+    @Test
+    public void testPutCopiesTheLabel() {
+        Label label = new Label("C", "Label C");
+        labelCatalogue.put(label);
+
+        label.setDescription("Changed outside");
+
+        assertEquals("Label C", labelCatalogue.find("C").get().getDescription());
+    }
+
+    @Test
+    public void testRemove() {
+        labelCatalogue.remove("A");
+
+        assertFalse(labelCatalogue.contains("A"));
+        assertEquals(List.of("B"), labelCatalogue.findAll().stream().map(Label::getCode).toList());
+    }
+
+    @Test
+    public void testWithCaseCountsListsEveryLabel() {
+        assertEquals(List.of(new LabelCount("A", "Label A", 0L), new LabelCount("B", "Label B", 4L)),
+                labelCatalogue.withCaseCounts(Map.of("B", 4L, "Z", 1L)));
+    }
+
+    @Test
+    public void testDescribeKeepsTheOrderAndSkipsUnknownLabels() {
+        Map<String, Long> caseCounts = new LinkedHashMap<>();
+        caseCounts.put("B", 5L);
+        caseCounts.put("Z", 3L);
+        caseCounts.put("A", 1L);
+
+        assertEquals(List.of(new LabelCount("B", "Label B", 5L), new LabelCount("A", "Label A", 1L)),
+                labelCatalogue.describe(caseCounts));
+    }
+}
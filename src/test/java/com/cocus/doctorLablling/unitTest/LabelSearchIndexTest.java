@@ -0,0 +1,60 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.service.LabelSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LabelSearchIndexTest {
+
+    private final LabelSearchIndex index = new LabelSearchIndex(List.of(
+            new Label("A01", "Typhoid fever"),
+            new Label("A01.1", "Paratyphoid fever A"),
+            new Label("B20", "HIV disease"),
+            new Label("J10", "Influenza due to identified influenza virus"),
+            new Label("R50", "Fever of other and unknown origin")));
+
+    private static List<String> codes(List<Label> labels) {
+        return labels.stream().map(Label::getCode).toList();
+    }
+
+    @Test
+    public void testCodePrefixIgnoresCase() {
+        assertEquals(List.of("A01", "A01.1"), codes(index.search("a01", 10)));
+        assertEquals(List.of("A01.1"), codes(index.search("A01.", 10)));
+    }
+
+    @Test
+    public void testDescriptionWordPrefix() {
+        assertEquals(List.of("A01", "A01.1", "R50"), codes(index.search("fev", 10)));
+        assertEquals(List.of("J10"), codes(index.search("VIRUS", 10)));
+    }
+
+    @Test
+    public void testEveryWordOfThePrefixMustMatch() {
+        assertEquals(List.of("A01.1"), codes(index.search("para fev", 10)));
+        assertTrue(index.search("typhoid hiv", 10).isEmpty());
+    }
+
+    @Test
+    public void testCodeMatchesComeFirstWithoutDuplicates() {
+        // "b" matches the code B20 and no description word, "a" matches codes and the word "and"
+        assertEquals(List.of("B20"), codes(index.search("b", 10)));
+        assertEquals(List.of("A01", "A01.1", "R50"), codes(index.search("a", 10)));
+    }
+
+    @Test
+    public void testLimit() {
+        assertEquals(List.of("A01", "A01.1"), codes(index.search("fever", 2)));
+        assertTrue(index.search("fever", 0).isEmpty());
+    }
+
+    @Test
+    public void testBlankOrUnknownPrefix() {
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search("zzz", 10).isEmpty());
+    }
+}
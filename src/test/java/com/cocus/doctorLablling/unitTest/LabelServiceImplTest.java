@@ -1,7 +1,10 @@
 package com.cocus.doctorLablling.unitTest;
 
+import com.cocus.doctorLablling.dto.LabelCount;
 import com.cocus.doctorLablling.model.Label;
 import com.cocus.doctorLablling.repository.LabelRepository;
+import com.cocus.doctorLablling.repository.LabelStatsRepository;
+import com.cocus.doctorLablling.service.LabelCatalogue;
 import com.cocus.doctorLablling.service.LabelServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,9 +12,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +28,12 @@ public class LabelServiceImplTest {
     @Mock
     private LabelRepository labelRepository;
 
+    @Mock
+    private LabelStatsRepository labelStatsRepository;
+
+    @Mock
+    private LabelCatalogue labelCatalogue;
+
     @InjectMocks
     private LabelServiceImpl labelService;
 
@@ -42,22 +53,24 @@ public class LabelServiceImplTest {
         assertNotNull(createdLabel);
         assertEquals("1", createdLabel.getCode());
         assertEquals("Mock Label", createdLabel.getDescription());
+        verify(labelCatalogue).put(mockLabel);
     }
 
     @Test
     public void testGetLabelById_ExistingLabel() {
-        when(labelRepository.findById("1")).thenReturn(Optional.of(mockLabel));
+        when(labelCatalogue.find("1")).thenReturn(Optional.of(mockLabel));
 
         Optional<Label> result = labelService.getLabelById("1");
 
         assertTrue(result.isPresent());
         assertEquals("1", result.get().getCode());
         assertEquals("Mock Label", result.get().getDescription());
+        verifyNoInteractions(labelRepository);
     }
 
     @Test
     public void testGetLabelById_NonExistingLabel() {
-        when(labelRepository.findById("2")).thenReturn(Optional.empty());
+        when(labelCatalogue.find("2")).thenReturn(Optional.empty());
 
         Optional<Label> result = labelService.getLabelById("2");
 
@@ -75,6 +88,7 @@ public class LabelServiceImplTest {
         assertTrue(result.isPresent());
         assertEquals("1", result.get().getCode());
         assertEquals("Updated Label", result.get().getDescription());
+        verify(labelCatalogue).put(mockLabel);
     }
 
     @Test
@@ -95,6 +109,7 @@ public class LabelServiceImplTest {
 
         assertTrue(deleted);
         verify(labelRepository, times(1)).deleteById("1");
+        verify(labelCatalogue).remove("1");
     }
 
     @Test
@@ -105,6 +120,7 @@ public class LabelServiceImplTest {
 
         assertFalse(deleted);
         verify(labelRepository, never()).deleteById("2");
+        verify(labelCatalogue, never()).remove("2");
     }
 
     @Test
@@ -113,10 +129,50 @@ public class LabelServiceImplTest {
         mockLabels.add(new Label("1", "Mock Label 1"));
         mockLabels.add(new Label("2", "Mock Label 2"));
 
-        when(labelRepository.findAll()).thenReturn(mockLabels);
+        when(labelCatalogue.findAll()).thenReturn(mockLabels);
 
         List<Label> labels = labelService.getAllLabels();
 
         assertEquals(2, labels.size());
+        verifyNoInteractions(labelRepository);
+    }
+
+    @Test
+    public void testSearchLabelsCapsTheLimit() {
+        ReflectionTestUtils.setField(labelService, "maxSearchLimit", 100);
+        when(labelCatalogue.search("a0", 100)).thenReturn(List.of(mockLabel));
+
+        List<Label> labels = labelService.searchLabels("a0", 5000);
+
+        assertEquals(1, labels.size());
+        verifyNoInteractions(labelRepository);
+    }
+
+    @Test
+    public void testGetLabelStats() {
+        List<LabelCount> stats = List.of(new LabelCount("1", "Mock Label", 3L));
+        when(labelStatsRepository.findCaseCounts()).thenReturn(Map.of("1", 3L));
+        when(labelCatalogue.withCaseCounts(Map.of("1", 3L))).thenReturn(stats);
+
+        assertEquals(stats, labelService.getLabelStats());
+        verifyNoInteractions(labelRepository);
+    }
+
+    @Test
+    public void testGetCooccurrences() {
+        List<LabelCount> cooccurrences = List.of(new LabelCount("2", "Other Label", 2L));
+        when(labelCatalogue.contains("1")).thenReturn(true);
+        when(labelStatsRepository.findCooccurrences("1")).thenReturn(Map.of("2", 2L));
+        when(labelCatalogue.describe(Map.of("2", 2L))).thenReturn(cooccurrences);
+
+        assertEquals(Optional.of(cooccurrences), labelService.getCooccurrences("1"));
+    }
+
+    @Test
+    public void testGetCooccurrences_NonExistingLabel() {
+        when(labelCatalogue.contains("9")).thenReturn(false);
+
+        assertFalse(labelService.getCooccurrences("9").isPresent());
+        verifyNoInteractions(labelStatsRepository);
     }
 }
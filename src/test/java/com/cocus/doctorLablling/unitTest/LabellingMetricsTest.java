@@ -0,0 +1,64 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.repository.ReactiveCaseRepository;
+import com.cocus.doctorLablling.service.LabellingMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LabellingMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LabellingMetrics labellingMetrics;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        labellingMetrics = new LabellingMetrics();
+        ReflectionTestUtils.setField(labellingMetrics, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    public void testTimeToFirstAndLastLabel() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+        labellingMetrics.labelled(List.of(
+                new ReactiveCaseRepository.LabellingTimesRow("5555", 12345L, createdAt, createdAt.plusMinutes(5), true)));
+        labellingMetrics.labelled(List.of(
+                new ReactiveCaseRepository.LabellingTimesRow("5555", 12345L, createdAt, createdAt.plusMinutes(20), false)));
+
+        Timer first = meterRegistry.get(LabellingMetrics.TIME_TO_LABEL).tags("doctor", "12345", "label", "first").timer();
+        Timer last = meterRegistry.get(LabellingMetrics.TIME_TO_LABEL).tags("doctor", "12345", "label", "last").timer();
+        assertEquals(1, first.count());
+        assertEquals(5, first.totalTime(TimeUnit.MINUTES));
+        assertEquals(2, last.count());
+        assertEquals(20, last.max(TimeUnit.MINUTES));
+    }
+
+    @Test
+    public void testCaseWithoutCreationTimeIsNotRecorded() {
+        labellingMetrics.labelled(List.of(
+                new ReactiveCaseRepository.LabellingTimesRow("5555", 12345L, null, LocalDateTime.now(), true)));
+
+        assertNull(meterRegistry.find(LabellingMetrics.TIME_TO_LABEL).timer());
+    }
+
+    @Test
+    public void testLabelApplied() {
+        labellingMetrics.labelApplied("A001");
+        labellingMetrics.labelApplied("A001");
+        labellingMetrics.labelApplied("B001");
+
+        assertEquals(2, meterRegistry.get(LabellingMetrics.LABELS_APPLIED).tag("label", "A001").counter().count());
+        assertEquals(1, meterRegistry.get(LabellingMetrics.LABELS_APPLIED).tag("label", "B001").counter().count());
+    }
+}
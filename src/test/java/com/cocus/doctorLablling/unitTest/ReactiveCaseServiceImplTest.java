@@ -0,0 +1,283 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.dto.CaseLabelPair;
+import com.cocus.doctorLablling.dto.CaseLabellingTimes;
+import com.cocus.doctorLablling.dto.LabelAssignmentResult;
+import com.cocus.doctorLablling.dto.LabelEvent;
+import com.cocus.doctorLablling.dto.LabelsJson;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.ReactiveCaseRepository;
+import com.cocus.doctorLablling.repository.ReactiveLabelRepository;
+import com.cocus.doctorLablling.service.LabelCatalogue;
+import com.cocus.doctorLablling.service.LabelSearchIndex;
+import com.cocus.doctorLablling.service.LabellingMetrics;
+import com.cocus.doctorLablling.service.ReactiveCaseServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ReactiveCaseServiceImplTest {
+
+    @InjectMocks
+    private ReactiveCaseServiceImpl reactiveCaseService;
+
+    @Mock
+    private ReactiveCaseRepository reactiveCaseRepository;
+
+    @Mock
+    private ReactiveLabelRepository reactiveLabelRepository;
+
+    @Mock
+    private LabelCatalogue labelCatalogue;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private LabellingMetrics labellingMetrics;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(reactiveCaseService, "maxPageSize", 1000);
+        when(transactionalOperator.transactional(Mockito.<Mono<Object>>any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reactiveCaseRepository.appendEvent(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.empty());
+        when(reactiveCaseRepository.appendEvents(Mockito.any(), Mockito.any())).thenReturn(Mono.empty());
+        when(reactiveLabelRepository.labelsAdded(Mockito.any())).thenReturn(Mono.empty());
+        when(reactiveLabelRepository.labelsRemoved(Mockito.any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    public void testCreateCaseAgainReplacesItsLabels() {
+        Label label = new Label("2", "Label Description");
+        Case caseObj = new Case("5555", "Case Description", 12345L, new ArrayList<>(List.of(label)), LocalDateTime.now());
+
+        when(reactiveCaseRepository.upsert(caseObj)).thenReturn(Mono.empty());
+        when(reactiveCaseRepository.deleteLabels("5555")).thenReturn(Flux.just(new CaseLabelPair("5555", "1")));
+        when(reactiveLabelRepository.upsert(label)).thenReturn(Mono.just(label));
+        when(reactiveCaseRepository.insertLabel("5555", "2")).thenReturn(Mono.just(true));
+        when(reactiveCaseRepository.findWithLabelsById("5555")).thenReturn(Mono.just(caseObj));
+
+        StepVerifier.create(reactiveCaseService.createCase(caseObj))
+                .expectNext(caseObj)
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(reactiveCaseRepository);
+        inOrder.verify(reactiveCaseRepository).deleteLabels("5555");
+        inOrder.verify(reactiveCaseRepository).insertLabel("5555", "2");
+        verify(reactiveLabelRepository).labelsRemoved(List.of(new CaseLabelPair("5555", "1")));
+        verify(reactiveLabelRepository).labelsAdded(List.of(new CaseLabelPair("5555", "2")));
+        verify(labelCatalogue).put(label);
+    }
+
+    @Test
+    public void testCreateNewLabelInCase() {
+        Label label = new Label("2", "Label Description");
+        Case existingCase = new Case("5555", "Case Description", 12345L, new ArrayList<>(List.of(label)), LocalDateTime.now());
+
+        when(reactiveCaseRepository.existsById("5555")).thenReturn(Mono.just(true));
+        when(labelCatalogue.contains("2")).thenReturn(true);
+        when(reactiveCaseRepository.insertLabel("5555", "2")).thenReturn(Mono.just(true));
+        CaseLabellingTimes labelled = mock(CaseLabellingTimes.class);
+        when(reactiveCaseRepository.updateTimeToLabel(Mockito.eq(List.of("5555")), Mockito.any())).thenReturn(Flux.just(labelled));
+        when(reactiveCaseRepository.findWithLabelsById("5555")).thenReturn(Mono.just(existingCase));
+
+        StepVerifier.create(reactiveCaseService.createNewLabelInCase("5555", label))
+                .expectNext(existingCase)
+                .verifyComplete();
+
+        verify(reactiveCaseRepository).updateTimeToLabel(Mockito.eq(List.of("5555")), Mockito.any());
+        verify(reactiveCaseRepository).appendEvent(LabelEvent.Type.LABEL_ADDED, "5555", "2");
+        verify(reactiveLabelRepository, never()).upsert(Mockito.any());
+        verify(reactiveLabelRepository).labelsAdded(List.of(new CaseLabelPair("5555", "2")));
+        verify(labellingMetrics).labelled(List.of(labelled));
+        verify(labellingMetrics).labelApplied("2");
+        verify(labelCatalogue, never()).put(Mockito.any());
+    }
+
+    @Test
+    public void testCreateNewLabelInCase_NewLabel() {
+        Label label = new Label("2", "Label Description");
+        Case existingCase = new Case("5555", "Case Description", 12345L, new ArrayList<>(List.of(label)), LocalDateTime.now());
+
+        when(reactiveCaseRepository.existsById("5555")).thenReturn(Mono.just(true));
+        when(labelCatalogue.contains("2")).thenReturn(false);
+        when(reactiveLabelRepository.upsert(label)).thenReturn(Mono.just(label));
+        when(reactiveCaseRepository.insertLabel("5555", "2")).thenReturn(Mono.just(true));
+        when(reactiveCaseRepository.updateTimeToLabel(Mockito.any(), Mockito.any())).thenReturn(Flux.empty());
+        when(reactiveCaseRepository.findWithLabelsById("5555")).thenReturn(Mono.just(existingCase));
+
+        StepVerifier.create(reactiveCaseService.createNewLabelInCase("5555", label))
+                .expectNext(existingCase)
+                .verifyComplete();
+
+        verify(reactiveLabelRepository).upsert(label);
+        verify(labelCatalogue).put(label);
+    }
+
+    @Test
+    public void testCreateNewLabelInCase_LabelAlreadyInCase() {
+        Case existingCase = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
+
+        when(reactiveCaseRepository.existsById("5555")).thenReturn(Mono.just(true));
+        when(labelCatalogue.contains("2")).thenReturn(true);
+        when(reactiveCaseRepository.insertLabel("5555", "2")).thenReturn(Mono.just(false));
+        when(reactiveCaseRepository.findWithLabelsById("5555")).thenReturn(Mono.just(existingCase));
+
+        StepVerifier.create(reactiveCaseService.createNewLabelInCase("5555", new Label("2", "Label Description")))
+                .expectNext(existingCase)
+                .verifyComplete();
+
+        verify(reactiveCaseRepository, never()).updateTimeToLabel(Mockito.any(), Mockito.any());
+        verify(reactiveCaseRepository, never()).appendEvent(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testCreateNewLabelInCase_NonExistingCase() {
+        Label label = new Label("2", "Label Description");
+
+        when(reactiveCaseRepository.existsById("5555")).thenReturn(Mono.just(false));
+        when(labelCatalogue.contains("2")).thenReturn(false);
+        when(reactiveLabelRepository.upsert(label)).thenReturn(Mono.just(label));
+
+        StepVerifier.create(reactiveCaseService.createNewLabelInCase("5555", label))
+                .verifyComplete();
+
+        verify(reactiveCaseRepository, never()).insertLabel(Mockito.any(), Mockito.any());
+        verify(labelCatalogue, never()).put(Mockito.any());
+    }
+
+    @Test
+    public void testGetCasesPage_FullPageHasNextCursor() {
+        Case first = new Case("5555", "Case 1", 12345L, new ArrayList<>(), LocalDateTime.now());
+        Case second = new Case("6666", "Case 2", 67890L, new ArrayList<>(), LocalDateTime.now());
+
+        when(reactiveCaseRepository.findPageWithLabels("", 2)).thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(reactiveCaseService.getCasesPage(null, 2))
+                .assertNext(page -> {
+                    assertEquals(List.of(first, second), page.getItems());
+                    assertEquals("6666", page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetCasesPage_LastPageAndSizeCappedToMax() {
+        Case last = new Case("6666", "Case 2", 67890L, new ArrayList<>(), LocalDateTime.now());
+
+        when(reactiveCaseRepository.findPageWithLabels("5555", 1000)).thenReturn(Flux.just(last));
+
+        StepVerifier.create(reactiveCaseService.getCasesPage("5555", 5000))
+                .assertNext(page -> {
+                    assertEquals(List.of(last), page.getItems());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetCasesByLabelCode() {
+        Case first = new Case("5555", "Case 1", 12345L, new ArrayList<>(), LocalDateTime.now());
+        Case second = new Case("6666", "Case 2", 67890L, new ArrayList<>(), LocalDateTime.now());
+
+        when(reactiveCaseRepository.findWithLabelsByLabelCode("1")).thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(reactiveCaseService.getCasesByLabelCode("1"))
+                .expectNext(first, second)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testDeleteLabelInCase_ExistingCase() {
+        when(reactiveCaseRepository.existsById("5555")).thenReturn(Mono.just(true));
+        when(reactiveCaseRepository.deleteLabel("5555", "1")).thenReturn(Mono.just(true));
+        when(reactiveCaseRepository.incrementVersion("5555")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveCaseService.deleteLabelInCase("5555", "1"))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(reactiveCaseRepository).incrementVersion("5555");
+        verify(reactiveCaseRepository).appendEvent(LabelEvent.Type.LABEL_REMOVED, "5555", "1");
+        verify(reactiveLabelRepository).labelsRemoved(List.of(new CaseLabelPair("5555", "1")));
+    }
+
+    @Test
+    public void testDeleteLabelInCase_NonExistingCase() {
+        when(reactiveCaseRepository.existsById("5555")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(reactiveCaseService.deleteLabelInCase("5555", "1"))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(reactiveCaseRepository, never()).deleteLabel(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testUpdateCase_NonExistingCase() {
+        when(reactiveCaseRepository.update("5555", "Updated", 1L)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(reactiveCaseService.updateCase("5555", new Case("5555", "Updated", 1L, null, null)))
+                .verifyComplete();
+
+        verify(reactiveCaseRepository, never()).findWithLabelsById(Mockito.any());
+    }
+
+    @Test
+    public void testAssignLabels() {
+        List<CaseLabelPair> pairs = List.of(
+                new CaseLabelPair("5555", "1"),
+                new CaseLabelPair("5555", "2"),
+                new CaseLabelPair("6666", "1"),
+                new CaseLabelPair("7777", "1"),
+                new CaseLabelPair("5555", "9"),
+                new CaseLabelPair("5555", "1"));
+
+        when(reactiveCaseRepository.findExistingIds(List.of("5555", "6666", "7777"))).thenReturn(Flux.just("5555", "6666"));
+        List<Label> labels = List.of(new Label("1", "Label 1"), new Label("2", "Label 2"));
+        when(labelCatalogue.getSnapshot()).thenReturn(new LabelCatalogue.Snapshot(
+                Map.of("1", labels.get(0), "2", labels.get(1)), labels, LabelsJson.of(new byte[0]), new LabelSearchIndex(labels)));
+        when(reactiveCaseRepository.insertLabels(Mockito.anyCollection()))
+                .thenReturn(Flux.just(new CaseLabelPair("5555", "1"), new CaseLabelPair("6666", "1")));
+        when(reactiveCaseRepository.updateTimeToLabel(Mockito.any(), Mockito.any())).thenReturn(Flux.empty());
+
+        StepVerifier.create(reactiveCaseService.assignLabels(pairs).map(LabelAssignmentResult::getStatus))
+                .expectNext(LabelAssignmentResult.Status.APPLIED,
+                        LabelAssignmentResult.Status.ALREADY_PRESENT,
+                        LabelAssignmentResult.Status.APPLIED,
+                        LabelAssignmentResult.Status.UNKNOWN_CASE,
+                        LabelAssignmentResult.Status.UNKNOWN_LABEL,
+                        LabelAssignmentResult.Status.ALREADY_PRESENT)
+                .verifyComplete();
+
+        verify(reactiveCaseRepository).insertLabels(Mockito.argThat(inserted -> new ArrayList<>(inserted).equals(List.of(
+                new CaseLabelPair("5555", "1"), new CaseLabelPair("5555", "2"), new CaseLabelPair("6666", "1")))));
+        verify(reactiveCaseRepository).updateTimeToLabel(Mockito.eq(Set.of("5555", "6666")), Mockito.any());
+        verify(reactiveCaseRepository).appendEvents(Mockito.eq(LabelEvent.Type.LABEL_ADDED), Mockito.anyCollection());
+        verify(reactiveLabelRepository).labelsAdded(Mockito.anyCollection());
+    }
+}
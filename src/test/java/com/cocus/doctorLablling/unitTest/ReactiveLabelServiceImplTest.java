@@ -0,0 +1,147 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.dto.LabelCount;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.ReactiveLabelRepository;
+import com.cocus.doctorLablling.service.LabelCatalogue;
+import com.cocus.doctorLablling.service.ReactiveLabelServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveLabelServiceImplTest {
+
+    @Mock
+    private ReactiveLabelRepository reactiveLabelRepository;
+
+    @Mock
+    private LabelCatalogue labelCatalogue;
+
+    @InjectMocks
+    private ReactiveLabelServiceImpl reactiveLabelService;
+
+    private Label mockLabel;
+
+    @BeforeEach
+    public void setUp() {
+        mockLabel = new Label("1", "Mock Label");
+        ReflectionTestUtils.setField(reactiveLabelService, "maxSearchLimit", 100);
+    }
+
+    @Test
+    public void testCreateLabel() {
+        when(reactiveLabelRepository.upsert(mockLabel)).thenReturn(Mono.just(mockLabel));
+
+        StepVerifier.create(reactiveLabelService.createLabel(mockLabel))
+                .expectNext(mockLabel)
+                .verifyComplete();
+
+        verify(labelCatalogue).put(mockLabel);
+    }
+
+    @Test
+    public void testGetLabelById_ExistingLabel() {
+        when(labelCatalogue.find("1")).thenReturn(Optional.of(mockLabel));
+
+        StepVerifier.create(reactiveLabelService.getLabelById("1"))
+                .expectNext(mockLabel)
+                .verifyComplete();
+
+        verifyNoInteractions(reactiveLabelRepository);
+    }
+
+    @Test
+    public void testGetLabelById_NonExistingLabel() {
+        when(labelCatalogue.find("2")).thenReturn(Optional.empty());
+
+        StepVerifier.create(reactiveLabelService.getLabelById("2"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testUpdateLabel_ExistingLabel() {
+        when(reactiveLabelRepository.updateDescription("1", "Updated Label")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(reactiveLabelService.updateLabel("1", new Label("1", "Updated Label")))
+                .expectNext(new Label("1", "Updated Label"))
+                .verifyComplete();
+
+        verify(labelCatalogue).put(new Label("1", "Updated Label"));
+    }
+
+    @Test
+    public void testUpdateLabel_NonExistingLabel() {
+        when(reactiveLabelRepository.updateDescription("2", "Updated Label")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(reactiveLabelService.updateLabel("2", new Label("2", "Updated Label")))
+                .verifyComplete();
+
+        verifyNoInteractions(labelCatalogue);
+    }
+
+    @Test
+    public void testDeleteLabel_ExistingLabel() {
+        when(reactiveLabelRepository.delete("1")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(reactiveLabelService.deleteLabel("1"))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(labelCatalogue).remove("1");
+    }
+
+    @Test
+    public void testDeleteLabel_NonExistingLabel() {
+        when(reactiveLabelRepository.delete("2")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(reactiveLabelService.deleteLabel("2"))
+                .expectNext(false)
+                .verifyComplete();
+
+        verifyNoInteractions(labelCatalogue);
+    }
+
+    @Test
+    public void testSearchLabels_LimitIsCapped() {
+        when(labelCatalogue.search("mo", 100)).thenReturn(List.of(mockLabel));
+
+        StepVerifier.create(reactiveLabelService.searchLabels("mo", 5000))
+                .expectNext(mockLabel)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetLabelStats() {
+        LabelCount stats = new LabelCount("1", "Mock Label", 3L);
+        when(reactiveLabelRepository.findCaseCounts()).thenReturn(Mono.just(Map.of("1", 3L)));
+        when(labelCatalogue.withCaseCounts(Map.of("1", 3L))).thenReturn(List.of(stats));
+
+        StepVerifier.create(reactiveLabelService.getLabelStats())
+                .expectNext(stats)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetCooccurrences_NonExistingLabel() {
+        when(labelCatalogue.contains("9")).thenReturn(false);
+
+        StepVerifier.create(reactiveLabelService.getCooccurrences("9"))
+                .verifyComplete();
+
+        verify(reactiveLabelRepository, never()).findCooccurrences(Mockito.any());
+    }
+}
@@ -0,0 +1,81 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.tracing.RequestTrace;
+import com.cocus.doctorLablling.tracing.RequestTraceFilter;
+import com.cocus.doctorLablling.tracing.SqlTraceListener;
+import com.cocus.doctorLablling.tracing.TracingCacheResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheableOperation;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class RequestTraceFilterTest {
+
+    private final RequestTraceFilter filter = new RequestTraceFilter("X-Request-Trace");
+
+    @Test
+    public void testUntracedRequest() throws Exception {
+        AtomicReference<RequestTrace> trace = new AtomicReference<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/cases"), response,
+                (request, servletResponse) -> trace.set(RequestTrace.current()));
+
+        assertNull(trace.get());
+        assertNull(response.getHeader(RequestTraceFilter.SERVER_TIMING));
+    }
+
+    @Test
+    public void testTracedRequestCountsStatementsAndCacheLookups() throws Exception {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("case");
+        cacheManager.getCache("case").put("5555", "cached");
+        TracingCacheResolver cacheResolver = new TracingCacheResolver(cacheManager);
+        CacheOperationInvocationContext<?> context = mock(CacheOperationInvocationContext.class);
+        CacheableOperation.Builder operation = new CacheableOperation.Builder();
+        operation.setCacheName("case");
+        doReturn(operation.build()).when(context).getOperation();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cases/5555");
+        request.addHeader("X-Request-Trace", "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> {
+            SqlTraceListener listener = new SqlTraceListener();
+            listener.jdbcExecuteStatementStart();
+            listener.jdbcExecuteStatementEnd();
+            Collection<? extends Cache> caches = cacheResolver.resolveCaches(context);
+            caches.forEach(cache -> {
+                cache.get("5555");
+                cache.get("6666");
+            });
+        });
+
+        String serverTiming = response.getHeader(RequestTraceFilter.SERVER_TIMING);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.contains("desc=\"1 statements\""), serverTiming);
+        assertTrue(serverTiming.contains("desc=\"1 hits, 1 misses\""), serverTiming);
+        assertNull(RequestTrace.current());
+    }
+
+    @Test
+    public void testCachesAreNotWrappedOutsideOfTraces() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("case");
+        CacheOperationInvocationContext<?> context = mock(CacheOperationInvocationContext.class);
+        CacheableOperation.Builder operation = new CacheableOperation.Builder();
+        operation.setCacheName("case");
+        doReturn(operation.build()).when(context).getOperation();
+
+        Collection<? extends Cache> caches = new TracingCacheResolver(cacheManager).resolveCaches(context);
+
+        assertSame(cacheManager.getCache("case"), caches.iterator().next());
+    }
+}
@@ -0,0 +1,213 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.config.CacheNames;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.cocus.doctorLablling.repository.CaseLabelRepository;
+import com.cocus.doctorLablling.repository.CaseRepository;
+import com.cocus.doctorLablling.repository.CaseSearchRepository;
+import com.cocus.doctorLablling.repository.LabelEventRepository;
+import com.cocus.doctorLablling.repository.LabelRepository;
+import com.cocus.doctorLablling.repository.LabelStatsRepository;
+import com.cocus.doctorLablling.service.CaseService;
+import com.cocus.doctorLablling.service.CaseServiceImpl;
+import com.cocus.doctorLablling.service.LabelCatalogue;
+import com.cocus.doctorLablling.service.LabelService;
+import com.cocus.doctorLablling.service.LabelServiceImpl;
+import com.cocus.doctorLablling.service.LabellingMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Read-after-write behaviour of the service caches, with the repositories mocked out.
+ */
+@SpringJUnitConfig
+public class ServiceCacheTest {
+
+    @Configuration
+    @EnableCaching
+    @Import({CaseServiceImpl.class, LabelServiceImpl.class, LabelCatalogue.class})
+    static class CacheTestConfiguration {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheNames.CASE, CacheNames.CASES_BY_LABEL);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @MockBean
+    private CaseRepository caseRepository;
+
+    @MockBean
+    private LabelRepository labelRepository;
+
+    @MockBean
+    private CaseLabelRepository caseLabelRepository;
+
+    @MockBean
+    private LabelEventRepository labelEventRepository;
+
+    @MockBean
+    private LabelStatsRepository labelStatsRepository;
+
+    @MockBean
+    private CaseSearchRepository caseSearchRepository;
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private LabellingMetrics labellingMetrics;
+
+    @Autowired
+    private CaseService caseService;
+
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private LabelCatalogue labelCatalogue;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        labelCatalogue.reload();
+    }
+
+    @Test
+    public void testGetCaseByIdIsServedFromCache() {
+        Case caseObj = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
+        when(caseRepository.findById("5555")).thenReturn(Optional.of(caseObj));
+
+        caseService.getCaseById("5555");
+        Optional<Case> cached = caseService.getCaseById("5555");
+
+        assertTrue(cached.isPresent());
+        verify(caseRepository, times(1)).findById("5555");
+    }
+
+    @Test
+    public void testMissingCaseIsNotCached() {
+        when(caseRepository.findById("5555")).thenReturn(Optional.empty());
+
+        caseService.getCaseById("5555");
+        caseService.getCaseById("5555");
+
+        verify(caseRepository, times(2)).findById("5555");
+    }
+
+    @Test
+    public void testRepeatedCreateCaseIsNeverSkipped() {
+        Case caseObj = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
+        when(caseRepository.saveAndFlush(Mockito.any())).thenReturn(caseObj);
+
+        caseService.createCase(caseObj);
+        caseService.createCase(caseObj);
+
+        verify(caseRepository, times(2)).saveAndFlush(caseObj);
+    }
+
+    @Test
+    public void testGetCaseByIdAfterUpdateReturnsUpdatedCase() {
+        Case caseObj = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
+        when(caseRepository.findById("5555")).thenReturn(Optional.of(caseObj));
+        when(caseRepository.saveAndFlush(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+        caseService.getCaseById("5555");
+
+        Case update = new Case("5555", "Updated Description", 67890L, new ArrayList<>(), LocalDateTime.now());
+        caseService.updateCase("5555", update, null);
+        Optional<Case> result = caseService.getCaseById("5555");
+
+        assertTrue(result.isPresent());
+        assertEquals("Updated Description", result.get().getCaseDescription());
+        assertEquals(67890L, result.get().getDoctorId());
+    }
+
+    @Test
+    public void testGetCaseByIdAfterDeleteLabelReloadsCase() {
+        Case caseObj = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
+        caseObj.getLabels().add(new Label("2", "Label Description"));
+        when(caseRepository.findById("5555")).thenReturn(Optional.of(caseObj));
+        caseService.getCaseById("5555");
+
+        when(caseRepository.existsById("5555")).thenReturn(true);
+        caseService.deleteLabelInCase("5555", "2", null);
+        caseService.getCaseById("5555");
+
+        // one read before the delete and one after the eviction
+        verify(caseRepository, times(2)).findById("5555");
+    }
+
+    @Test
+    public void testCasesByLabelAreReloadedAfterLabelAdded() {
+        Case caseObj = new Case("5555", "Case Description", 12345L, new ArrayList<>(), LocalDateTime.now());
+        when(caseRepository.findCaseIdsByLabelCode("2")).thenReturn(List.of());
+        when(caseRepository.existsById("5555")).thenReturn(true);
+        when(caseRepository.findById("5555")).thenReturn(Optional.of(caseObj));
+        when(labelRepository.saveAndFlush(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertTrue(caseService.getCasesByLabelCode("2").isEmpty());
+        caseService.createNewLabelInCase("5555", new Label("2", "Label Description"), null);
+        when(caseRepository.findCaseIdsByLabelCode("2")).thenReturn(List.of("5555"));
+        when(caseRepository.findWithLabelsByCaseIdIn(List.of("5555"))).thenReturn(List.of(caseObj));
+
+        assertEquals(1, caseService.getCasesByLabelCode("2").size());
+    }
+
+    @Test
+    public void testLabelReadsAfterUpdateReturnUpdatedLabel() {
+        Label label = new Label("1", "Mock Label");
+        when(labelRepository.findAll()).thenReturn(List.of(label));
+        when(labelRepository.findById("1")).thenReturn(Optional.of(label));
+        when(labelRepository.save(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+        labelCatalogue.reload();
+
+        labelService.updateLabel("1", new Label("1", "Updated Label"));
+        clearInvocations(labelRepository);
+
+        assertEquals("Updated Label", labelService.getLabelById("1").get().getDescription());
+        assertEquals("Updated Label", labelService.getAllLabels().get(0).getDescription());
+        verifyNoInteractions(labelRepository);
+    }
+
+    @Test
+    public void testDeletedLabelIsNotServedFromCatalogue() {
+        Label label = new Label("1", "Mock Label");
+        when(labelRepository.findAll()).thenReturn(List.of(label));
+        when(labelRepository.findById("1")).thenReturn(Optional.of(label));
+        labelCatalogue.reload();
+        assertTrue(labelService.getLabelById("1").isPresent());
+
+        labelService.deleteLabel("1");
+
+        assertFalse(labelService.getLabelById("1").isPresent());
+        assertTrue(labelService.getAllLabels().isEmpty());
+    }
+}
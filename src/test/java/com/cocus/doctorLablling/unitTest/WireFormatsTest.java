@@ -0,0 +1,90 @@
+package com.cocus.doctorLablling.unitTest;
+
+import com.cocus.doctorLablling.config.LabelCodesHttpMessageConverter;
+import com.cocus.doctorLablling.config.WireFormats;
+import com.cocus.doctorLablling.model.Case;
+import com.cocus.doctorLablling.model.Label;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WireFormatsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final WireFormats wireFormats = new WireFormats();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(wireFormats, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(wireFormats, "objectMapperBuilder", new Jackson2ObjectMapperBuilder());
+        wireFormats.init();
+    }
+
+    private Case labelledCase(String caseId) {
+        List<Label> labels = new ArrayList<>(List.of(new Label("A01", "Cholera"), new Label("A02", "Other salmonella infections")));
+        return new Case(caseId, "Description", 12345L, labels, LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+    }
+
+    @Test
+    public void testNegotiate() {
+        assertEquals(MediaType.APPLICATION_JSON, wireFormats.negotiate(null));
+        assertEquals(MediaType.APPLICATION_JSON, wireFormats.negotiate("*/*"));
+        assertEquals(MediaType.APPLICATION_JSON, wireFormats.negotiate("text/html"));
+        assertEquals(MediaType.APPLICATION_JSON, wireFormats.negotiate("not a media type"));
+        assertEquals(WireFormats.SMILE, wireFormats.negotiate("application/x-jackson-smile, application/json;q=0.5"));
+        assertEquals(WireFormats.SMILE, wireFormats.negotiate("application/json;q=0.5, application/x-jackson-smile"));
+        assertEquals(WireFormats.LABEL_CODES_JSON, wireFormats.negotiate(WireFormats.LABEL_CODES_JSON_VALUE));
+    }
+
+    @Test
+    public void testWriteLabelCodes() throws IOException {
+        LabelCodesHttpMessageConverter converter = new LabelCodesHttpMessageConverter(wireFormats.getLabelCodesObjectMapper());
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        converter.write(labelledCase("5555"), WireFormats.LABEL_CODES_JSON, outputMessage);
+
+        String body = outputMessage.getBodyAsString();
+        assertTrue(body.contains("\"labels\":[\"A01\",\"A02\"]"));
+        assertFalse(body.contains("Cholera"));
+        assertEquals(WireFormats.LABEL_CODES_JSON, outputMessage.getHeaders().getContentType());
+    }
+
+    @Test
+    public void testLabelCodesOnlyWhenAskedFor() {
+        LabelCodesHttpMessageConverter converter = new LabelCodesHttpMessageConverter(wireFormats.getLabelCodesObjectMapper());
+
+        assertTrue(converter.canWrite(Case.class, WireFormats.LABEL_CODES_JSON));
+        assertFalse(converter.canWrite(Case.class, null));
+        assertFalse(converter.canWrite(Case.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(Case.class, WireFormats.LABEL_CODES_JSON));
+    }
+
+    @Test
+    public void testSmileWritesEachDescriptionOnce() throws IOException {
+        ObjectMapper smileObjectMapper = wireFormats.objectMapper(WireFormats.SMILE);
+        List<Case> cases = IntStream.range(0, 100).mapToObj(i -> labelledCase(String.valueOf(i))).toList();
+
+        byte[] smile = smileObjectMapper.writeValueAsBytes(cases);
+
+        assertTrue(smile.length < objectMapper.writeValueAsBytes(cases).length / 3);
+        Case[] read = smileObjectMapper.readValue(smile, Case[].class);
+        assertEquals(100, read.length);
+        assertEquals(cases.get(99).getLabels(), read[99].getLabels());
+        assertEquals(cases.get(99).getTimeToLabel(), read[99].getTimeToLabel());
+    }
+}